@@ -0,0 +1,59 @@
+package knightstour.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import knightstour.KnightsTour;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * KnightsTour.findSingleSolution (backtracking con orden por accesibilidad)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class BacktrackingBenchmark {
+
+    @Param({"5", "6", "8"})
+    public int size;
+
+    @Param({"0:0", "2:2"})
+    public String start;
+
+    private KnightsTour solver;
+    private int startRow;
+    private int startCol;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SilentOutput.install();
+        solver = new KnightsTour(size);
+        int[] position = SilentOutput.parseStart(start);
+        startRow = position[0];
+        startCol = position[1];
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SilentOutput.restore();
+    }
+
+    @Benchmark
+    public boolean findSingleSolution() {
+        return solver.findSingleSolution(startRow, startCol);
+    }
+}
@@ -0,0 +1,101 @@
+package knightstour.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import knightstour.KnightsTourDP;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * KnightsTourDP: memoización recursiva y tabulación
+ *
+ * Los puntajes son fijos (no Math.random) para que todas las corridas midan
+ * la misma instancia.
+ *
+ * Cada modo tiene su propio @State (y su propio solver): la memoización se
+ * invalida dentro del método medido con reset(), que es O(1) (cambio de
+ * época), así que no hace falta un @Setup(Level.Invocation) y la tabulación
+ * no paga nada por la memoización.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class DPBenchmark {
+
+    /**
+     * Tablero y parámetros comunes a los dos modos
+     */
+    @State(Scope.Thread)
+    public abstract static class Board {
+
+        @Param({"8", "64", "256"})
+        public int size;
+
+        @Param({"8", "32"})
+        public int k;
+
+        @Param({"0:0", "3:3"})
+        public String start;
+
+        KnightsTourDP solver;
+        int startRow;
+        int startCol;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            SilentOutput.install();
+            int[][] scores = new int[size][size];
+            for (int i = 0; i < size; i++) {
+                for (int j = 0; j < size; j++) {
+                    scores[i][j] = (i * 31 + j * 17) % 10 + 1;
+                }
+            }
+            solver = new KnightsTourDP(size, k);
+            solver.setCustomScores(scores);
+            int[] position = SilentOutput.parseStart(start);
+            startRow = position[0];
+            startCol = position[1];
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            SilentOutput.restore();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Memoized extends Board {
+    }
+
+    @State(Scope.Thread)
+    public static class Tabulated extends Board {
+    }
+
+    /**
+     * solveMaximizeScore reutiliza memo entre llamadas: reset() en cada
+     * invocación para medir siempre el cálculo completo
+     */
+    @Benchmark
+    public int solveMaximizeScore(Memoized board) {
+        board.solver.reset();
+        return board.solver.solveMaximizeScore(board.startRow, board.startCol);
+    }
+
+    @Benchmark
+    public int solveMaximizeScoreITO(Tabulated board) {
+        return board.solver.solveMaximizeScoreITO(board.startRow, board.startCol);
+    }
+}
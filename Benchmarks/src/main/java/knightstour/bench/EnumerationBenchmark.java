@@ -0,0 +1,61 @@
+package knightstour.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import knightstour.KnightsTour;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * KnightsTour.findAllSolutions: cada llamada recorre el árbol completo y
+ * tarda segundos, así que se mide por llamada (SingleShotTime) en lugar de
+ * por throughput
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class EnumerationBenchmark {
+
+    @Param({"5"})
+    public int size;
+
+    @Param({"0:0", "2:2"})
+    public String start;
+
+    private KnightsTour solver;
+    private int startRow;
+    private int startCol;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SilentOutput.install();
+        solver = new KnightsTour(size);
+        int[] position = SilentOutput.parseStart(start);
+        startRow = position[0];
+        startCol = position[1];
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SilentOutput.restore();
+    }
+
+    @Benchmark
+    public int findAllSolutions() {
+        return solver.findAllSolutions(startRow, startCol);
+    }
+}
@@ -0,0 +1,59 @@
+package knightstour.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import knightstour.KnightsTourGreedy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * KnightsTourGreedy.solveWithWarnsdorff
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class GreedyBenchmark {
+
+    @Param({"8", "32", "128"})
+    public int size;
+
+    @Param({"0:0", "3:3"})
+    public String start;
+
+    private KnightsTourGreedy solver;
+    private int startRow;
+    private int startCol;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SilentOutput.install();
+        solver = new KnightsTourGreedy(size);
+        int[] position = SilentOutput.parseStart(start);
+        startRow = position[0];
+        startCol = position[1];
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SilentOutput.restore();
+    }
+
+    @Benchmark
+    public boolean solveWithWarnsdorff() {
+        return solver.solveWithWarnsdorff(startRow, startCol);
+    }
+}
@@ -0,0 +1,39 @@
+package knightstour.bench;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+/**
+ * Silencia System.out durante la medición
+ *
+ * Los solvers imprimen su progreso por consola; sin esto la salida de JMH se
+ * llena de líneas repetidas y la escritura a la terminal se mezcla con el
+ * tiempo medido. El formateo de los mensajes se sigue ejecutando (es parte
+ * del costo real de la API), solo se descarta la escritura.
+ */
+final class SilentOutput {
+
+    private static final PrintStream ORIGINAL = System.out;
+
+    private static final PrintStream DISCARD = new PrintStream(OutputStream.nullOutputStream());
+
+    private SilentOutput() {
+    }
+
+    static void install() {
+        System.setOut(DISCARD);
+    }
+
+    static void restore() {
+        System.setOut(ORIGINAL);
+    }
+
+    /**
+     * Convierte un parámetro "fila:columna" en {fila, columna}
+     * (no se usa coma porque JMH la toma como separador de valores en -p)
+     */
+    static int[] parseStart(String start) {
+        String[] parts = start.split(":");
+        return new int[] {Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim())};
+    }
+}
@@ -0,0 +1,496 @@
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Ejecutor de trabajos en lote
+ *
+ * Procesa miles de trabajos (algoritmo, n, inicio, k) en una sola JVM en
+ * lugar de lanzar "java Pruebas N" por cada uno: el arranque y el
+ * calentamiento del JIT se pagan una vez.
+ *
+ * Archivo de trabajos, una línea por trabajo ('#' inicia un comentario):
+ *
+ *   algoritmo n fila columna [k [semilla]]
+ *
+ * - algoritmo: backtracking | greedy | dp
+ * - n, fila, columna, k: enteros de 32 bits, n >= 1 y k >= 0; una línea
+ *   fuera de rango se rechaza al leer el archivo
+ * - k: movimientos (obligatorio para dp)
+ * - semilla: puntajes de dp generados con Random(semilla), 1..10 (default 0),
+ *   así el mismo archivo da los mismos resultados en cada corrida
+ *
+ * Los trabajos dp con el mismo (n, semilla) comparten tablero: el primer
+ * hilo que lo necesita arma un KnightsTourDPQueryEngine con el mayor k que
+ * el lote pide para ese tablero, todos los hilos lo consultan en O(1) y se
+ * suelta al responder su último trabajo. Los trabajos dp se despachan
+ * agrupados por tablero (los resultados igual salen en el orden del archivo),
+ * así un archivo intercalado no reconstruye motores ni los tiene todos vivos.
+ * Si la tabla no entra en el heap, cada trabajo usa la DP por ventana
+ * (KnightsTourDPWindow).
+ *
+ * Resultados en el orden del archivo:
+ * - CSV: indice,algoritmo,n,fila,columna,k,resultado,micros
+ * - Binario (si la salida termina en .bin): cabecera MAGIC, versión, cantidad
+ *   y un registro de tamaño fijo por trabajo (ver writeBinary)
+ *
+ * "resultado" es 1/0 (recorrido encontrado o no) para backtracking y greedy,
+ * el máximo puntaje para dp y -1 si el inicio estaba fuera del tablero.
+ *
+ * Uso: java BatchRunner trabajos.txt [salida.csv|salida.bin] [hilos]
+ */
+public class BatchRunner {
+
+    private static final int ALGORITHM_BACKTRACKING = 0;
+    private static final int ALGORITHM_GREEDY = 1;
+    private static final int ALGORITHM_DP = 2;
+
+    private static final String[] ALGORITHM_NAMES = {"backtracking", "greedy", "dp"};
+
+    // "KTBR" en ASCII
+    private static final int MAGIC = 0x4B544252;
+    private static final int VERSION = 1;
+
+    // Trabajos en arrays paralelos (un índice por línea válida)
+    private final int[] algorithm;
+    private final int[] size;
+    private final int[] row;
+    private final int[] col;
+    private final int[] moves;
+    private final long[] seed;
+
+    // Tableros dp compartidos por todos los hilos, clave dpKey(n, semilla);
+    // el mapa se llena en el constructor y después solo se lee
+    private final Map<String, DpBoard> dpBoards = new HashMap<>();
+
+    // Orden de despacho: índices de trabajo con los dp agrupados por tablero
+    private final int[] order;
+
+    // Salidas, escritas por el hilo que procesa cada trabajo
+    private final long[] result;
+    private final long[] nanos;
+
+    private final AtomicInteger nextJob = new AtomicInteger();
+    private final AtomicInteger failedJobs = new AtomicInteger();
+
+    private BatchRunner(List<long[]> jobs) {
+        int count = jobs.size();
+        algorithm = new int[count];
+        size = new int[count];
+        row = new int[count];
+        col = new int[count];
+        moves = new int[count];
+        seed = new long[count];
+        result = new long[count];
+        nanos = new long[count];
+
+        List<Integer> others = new ArrayList<>();
+        Map<String, List<Integer>> dpGroups = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            long[] job = jobs.get(i);
+            algorithm[i] = (int) job[0];
+            size[i] = (int) job[1];
+            row[i] = (int) job[2];
+            col[i] = (int) job[3];
+            moves[i] = (int) job[4];
+            seed[i] = job[5];
+            // Los dp con inicio inválido no tocan el tablero (execute devuelve -1)
+            if (algorithm[i] == ALGORITHM_DP && isValidStart(i)) {
+                String key = dpKey(size[i], seed[i]);
+                int n = size[i];
+                long scoreSeed = seed[i];
+                dpBoards.computeIfAbsent(key, unused -> new DpBoard(n, scoreSeed)).addJob(moves[i]);
+                dpGroups.computeIfAbsent(key, unused -> new ArrayList<>()).add(i);
+            } else {
+                others.add(i);
+            }
+        }
+
+        order = new int[count];
+        int next = 0;
+        for (int job : others) {
+            order[next++] = job;
+        }
+        for (List<Integer> group : dpGroups.values()) {
+            for (int job : group) {
+                order[next++] = job;
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.out.println("Uso: java BatchRunner trabajos.txt [salida.csv|salida.bin] [hilos]");
+            return;
+        }
+
+        Path jobFile = Paths.get(args[0]);
+        Path output = args.length > 1 ? Paths.get(args[1]) : Paths.get("resultados.csv");
+        int threads;
+        try {
+            threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        } catch (NumberFormatException e) {
+            threads = 0;
+        }
+        if (threads <= 0) {
+            System.out.println("La cantidad de hilos debe ser un entero positivo: " + args[2]);
+            return;
+        }
+
+        BatchRunner runner;
+        try {
+            runner = new BatchRunner(parseJobs(jobFile));
+        } catch (IOException e) {
+            System.out.println("No se pudo leer " + jobFile + ": " + e.getMessage());
+            return;
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            return;
+        }
+
+        int count = runner.result.length;
+        System.out.println("Procesando " + count + " trabajos con " + threads + " hilos...");
+
+        // Los solucionadores informan por consola en cada llamada; con miles
+        // de trabajos eso domina el tiempo, así que se descarta durante el lote
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        long wallNanos;
+        try {
+            wallNanos = runner.run(threads);
+        } finally {
+            System.setOut(console);
+        }
+
+        try {
+            if (output.toString().endsWith(".bin")) {
+                runner.writeBinary(output);
+            } else {
+                runner.writeCsv(output);
+            }
+        } catch (IOException e) {
+            System.out.println("No se pudo escribir " + output + ": " + e.getMessage());
+            return;
+        }
+
+        runner.printSummary(wallNanos);
+        System.out.println("Resultados en " + output);
+    }
+
+    /**
+     * Lee el archivo de trabajos
+     * @return un long[6] por trabajo: algoritmo, n, fila, columna, k, semilla
+     * @throws IllegalArgumentException si una línea tiene formato inválido
+     */
+    static List<long[]> parseJobs(Path file) throws IOException {
+        List<long[]> jobs = new ArrayList<>();
+        int lineNumber = 0;
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                int comment = line.indexOf('#');
+                if (comment >= 0) {
+                    line = line.substring(0, comment);
+                }
+                line = line.trim();
+                if (line.isEmpty()) {
+                    continue;
+                }
+
+                String[] fields = line.split("\\s+");
+                int algorithm = parseAlgorithm(fields[0]);
+                if (algorithm < 0 || fields.length < 4 || fields.length > 6 ||
+                    (algorithm == ALGORITHM_DP && fields.length < 5)) {
+                    throw new IllegalArgumentException("Línea " + lineNumber + " inválida: " + line);
+                }
+
+                long[] job = new long[6];
+                try {
+                    job[0] = algorithm;
+                    for (int i = 1; i < fields.length; i++) {
+                        job[i] = Long.parseLong(fields[i]);
+                    }
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Línea " + lineNumber + " inválida: " + line);
+                }
+
+                // n, fila, columna y k se guardan como int: nada de truncar en silencio
+                for (int i = 1; i <= 4; i++) {
+                    if (job[i] < Integer.MIN_VALUE || job[i] > Integer.MAX_VALUE) {
+                        throw new IllegalArgumentException("Línea " + lineNumber + ": valor fuera de rango: " + line);
+                    }
+                }
+                if (job[1] < 1 || job[4] < 0) {
+                    throw new IllegalArgumentException("Línea " + lineNumber + ": n debe ser >= 1 y k >= 0: " + line);
+                }
+                jobs.add(job);
+            }
+        }
+        return jobs;
+    }
+
+    /**
+     * Reparte los trabajos entre 'threads' hilos; cada hilo toma el siguiente
+     * trabajo de 'order' y reutiliza sus propios solucionadores
+     * @return tiempo total de pared en nanosegundos
+     */
+    private long run(int threads) {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+
+        for (int t = 0; t < threads; t++) {
+            pool.execute(new Worker());
+        }
+
+        pool.shutdown();
+        try {
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Hilo de trabajo: los solucionadores se crean una vez por tamaño y se
+     * reutilizan (son de un solo hilo, por eso cada Worker tiene los suyos).
+     * Los tableros dp, de solo lectura una vez armados, son compartidos.
+     */
+    private class Worker implements Runnable {
+
+        private final Map<Integer, KnightsTour> backtracking = new HashMap<>();
+        private final Map<Integer, KnightsTourGreedy> greedy = new HashMap<>();
+
+        @Override
+        public void run() {
+            int next;
+            while ((next = nextJob.getAndIncrement()) < order.length) {
+                int job = order[next];
+                long start = System.nanoTime();
+                try {
+                    result[job] = execute(job);
+                } catch (RuntimeException | StackOverflowError | OutOfMemoryError e) {
+                    // Un trabajo que agota el heap falla solo; el hilo sigue con el resto
+                    result[job] = -1;
+                }
+                nanos[job] = System.nanoTime() - start;
+
+                if (result[job] < 0) {
+                    failedJobs.incrementAndGet();
+                }
+            }
+        }
+
+        private long execute(int job) {
+            int n = size[job];
+            if (!isValidStart(job)) {
+                return -1;
+            }
+            switch (algorithm[job]) {
+                case ALGORITHM_BACKTRACKING:
+                    return backtracking.computeIfAbsent(n, KnightsTour::new).solve(row[job], col[job]) ? 1 : 0;
+                case ALGORITHM_GREEDY:
+                    return greedy.computeIfAbsent(n, KnightsTourGreedy::new).solve(row[job], col[job]) ? 1 : 0;
+                default:
+                    DpBoard board = dpBoards.get(dpKey(n, seed[job]));
+                    try {
+                        return board.score(row[job], col[job], moves[job]);
+                    } finally {
+                        board.release();
+                    }
+            }
+        }
+    }
+
+    /**
+     * Tablero dp (n, semilla) compartido entre hilos: lo arma el primer
+     * trabajo que lo necesita, con un motor de consultas que cubre el mayor
+     * k del lote, y se suelta cuando responde su último trabajo
+     */
+    private static final class DpBoard {
+
+        private final int size;
+        private final long seed;
+
+        // Fijados en el constructor de BatchRunner, antes de lanzar los hilos
+        private int maxMoves;
+        private int pendingJobs;
+
+        // null hasta armarlo y de nuevo null al soltarlo; engine es null si la
+        // tabla no entra en el heap (se usa la ventana con scores)
+        private boolean loaded;
+        private int[][] scores;
+        private KnightsTourDPQueryEngine engine;
+
+        DpBoard(int size, long seed) {
+            this.size = size;
+            this.seed = seed;
+        }
+
+        void addJob(int k) {
+            maxMoves = Math.max(maxMoves, k);
+            pendingJobs++;
+        }
+
+        long score(int startRow, int startCol, int k) {
+            int[][] boardScores;
+            KnightsTourDPQueryEngine boardEngine;
+            synchronized (this) {
+                if (!loaded) {
+                    load();
+                }
+                boardScores = scores;
+                boardEngine = engine;
+            }
+            if (boardEngine != null) {
+                return boardEngine.query(startRow, startCol, k);
+            }
+            return new KnightsTourDPWindow(boardScores, k).maximizeScore(startRow, startCol);
+        }
+
+        synchronized void release() {
+            if (--pendingJobs == 0) {
+                scores = null;
+                engine = null;
+            }
+        }
+
+        // Llamado con el lock tomado: los demás hilos esperan en vez de armar otra copia
+        private void load() {
+            scores = seededScores(size, seed);
+            KnightsTourDP dp = new KnightsTourDP(size, maxMoves);
+            dp.setCustomScores(scores);
+            try {
+                engine = dp.createQueryEngine();
+            } catch (IllegalArgumentException | OutOfMemoryError e) {
+                // La tabla (k + 1)·n² no entra en el heap: ventana por trabajo
+                engine = null;
+            }
+            loaded = true;
+        }
+    }
+
+    private static String dpKey(int n, long scoreSeed) {
+        return n + ":" + scoreSeed;
+    }
+
+    /**
+     * Puntajes 1..10 reproducibles a partir de una semilla
+     */
+    static int[][] seededScores(int n, long scoreSeed) {
+        Random random = new Random(scoreSeed);
+        int[][] scores = new int[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                scores[i][j] = random.nextInt(10) + 1;
+            }
+        }
+        return scores;
+    }
+
+    private void writeCsv(Path output) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            writer.write("indice,algoritmo,n,fila,columna,k,resultado,micros");
+            writer.newLine();
+            for (int i = 0; i < result.length; i++) {
+                writer.write(i + "," + ALGORITHM_NAMES[algorithm[i]] + "," + size[i] + "," +
+                             row[i] + "," + col[i] + "," + moves[i] + "," + result[i] + "," +
+                             String.format(Locale.ROOT, "%.3f", nanos[i] / 1000.0));
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Formato binario (big-endian, DataOutputStream):
+     * cabecera: int MAGIC, int VERSION, int cantidad
+     * registro: byte algoritmo, int n, int fila, int columna, int k, long resultado, long nanos
+     */
+    private void writeBinary(Path output) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(output)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(result.length);
+            for (int i = 0; i < result.length; i++) {
+                out.writeByte(algorithm[i]);
+                out.writeInt(size[i]);
+                out.writeInt(row[i]);
+                out.writeInt(col[i]);
+                out.writeInt(moves[i]);
+                out.writeLong(result[i]);
+                out.writeLong(nanos[i]);
+            }
+        }
+    }
+
+    private void printSummary(long wallNanos) {
+        int count = result.length;
+        double seconds = wallNanos / 1e9;
+
+        System.out.println("=== RESUMEN DEL LOTE ===");
+        System.out.printf("Trabajos: %d (%d inválidos)%n", count, failedJobs.get());
+        System.out.printf("Tiempo total: %.3f s%n", seconds);
+        System.out.printf("Throughput: %.1f trabajos/s%n", seconds > 0 ? count / seconds : 0.0);
+
+        if (count > 0) {
+            long[] sorted = nanos.clone();
+            Arrays.sort(sorted);
+            System.out.printf("Latencia p50: %.3f ms | p95: %.3f ms | p99: %.3f ms | máx: %.3f ms%n",
+                             percentile(sorted, 50) / 1e6, percentile(sorted, 95) / 1e6,
+                             percentile(sorted, 99) / 1e6, sorted[count - 1] / 1e6);
+        }
+    }
+
+    // Helper methods ---------------------------------------------------
+
+    private boolean isValidStart(int job) {
+        int n = size[job];
+        return row[job] >= 0 && row[job] < n && col[job] >= 0 && col[job] < n;
+    }
+
+    /**
+     * Percentil por rango más cercano sobre un array ordenado
+     */
+    private static long percentile(long[] sorted, int p) {
+        int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private static int parseAlgorithm(String name) {
+        switch (name.toLowerCase()) {
+            case "backtracking":
+            case "bt":
+                return ALGORITHM_BACKTRACKING;
+            case "greedy":
+            case "warnsdorff":
+                return ALGORITHM_GREEDY;
+            case "dp":
+                return ALGORITHM_DP;
+            default:
+                return -1;
+        }
+    }
+
+}
@@ -0,0 +1,289 @@
+/**
+ * Benchmarks de la Programación Dinámica
+ *
+ * A diferencia de Pruebas.ejecutarComparacion (una sola llamada en frío),
+ * cada medición hace rondas de calentamiento (mínimo de rondas y de tiempo)
+ * para que el JIT compile el código medido y luego reporta la MEDIANA de
+ * varias repeticiones.
+ *
+ * Uso:
+ *   java BenchmarkDP kernel
+ *   java BenchmarkDP layout
+ *   java BenchmarkDP ventana
+ *   java BenchmarkDP incremental
+ *   java --add-modules jdk.incubator.vector BenchmarkDP kernel   (con SIMD)
+ */
+public class BenchmarkDP {
+
+    private static final int WARMUP_ROUNDS = 5;
+    private static final long WARMUP_MIN_NANOS = 1_000_000_000L;
+    private static final int MEASURED_ROUNDS = 9;
+
+    public static void main(String[] args) {
+        String opcion = args.length == 0 ? "kernel" : args[0].toLowerCase();
+
+        switch (opcion) {
+            case "kernel":
+                benchmarkKernel();
+                break;
+            case "layout":
+                benchmarkLayout();
+                break;
+            case "ventana":
+                benchmarkWindow();
+                break;
+            case "incremental":
+                benchmarkIncremental();
+                break;
+            default:
+                System.out.println("Opción no válida. Opciones: kernel, layout, ventana, incremental");
+        }
+    }
+
+    /**
+     * Compara el kernel escalar con el mejor kernel disponible (SIMD si existe)
+     */
+    private static void benchmarkKernel() {
+        DPLayerKernel scalar = new ScalarDPLayerKernel();
+        DPLayerKernel best = DPLayerKernel.best();
+        int k = 16;
+
+        System.out.println("\n=== BENCHMARK: KERNEL DE CAPA DP (k=" + k + ") ===");
+        System.out.println("Kernel disponible: " + best.getName());
+        System.out.println();
+        System.out.printf("%-12s | %-15s | %-15s | %-10s%n", "Tablero", "Escalar", best.getName(), "Speedup");
+        System.out.println("-------------|-----------------|-----------------|-----------");
+
+        for (int size : new int[] {64, 256, 1024}) {
+            KnightsTourDP dp = new KnightsTourDP(size, k);
+
+            int expected = dp.computeWithKernel(scalar, 0, 0);
+            if (dp.computeWithKernel(best, 0, 0) != expected) {
+                throw new IllegalStateException("Los kernels no coinciden en " + size + "x" + size);
+            }
+
+            double scalarMs = medianMillis(() -> dp.computeWithKernel(scalar, 0, 0));
+            double bestMs = medianMillis(() -> dp.computeWithKernel(best, 0, 0));
+
+            System.out.printf("%-12s | %-15s | %-15s | %-10s%n",
+                              size + "x" + size,
+                              String.format("%.3f ms", scalarMs),
+                              String.format("%.3f ms", bestMs),
+                              String.format("%.2fx", scalarMs / bestMs));
+        }
+    }
+
+    /**
+     * Compara la tabla plana "capa primero" padded (KnightsTourDP.computeTabulated)
+     * contra el layout original int[n][n][k+1] de arrays anidados
+     */
+    private static void benchmarkLayout() {
+        int k = 8;
+
+        System.out.println("\n=== BENCHMARK: LAYOUT DE LA TABLA DP (k=" + k + ") ===");
+        System.out.println();
+        System.out.printf("%-12s | %-15s | %-15s | %-10s%n", "Tablero", "int[n][n][k+1]", "Plano padded", "Speedup");
+        System.out.println("-------------|-----------------|-----------------|-----------");
+
+        for (int size : new int[] {64, 256, 1024}) {
+            KnightsTourDP dp = new KnightsTourDP(size, k);
+            int[][] scores = new int[size][size];
+            for (int i = 0; i < size; i++) {
+                for (int j = 0; j < size; j++) {
+                    scores[i][j] = (i * 31 + j * 17) % 10 + 1;
+                }
+            }
+            dp.setCustomScores(scores);
+
+            if (dp.computeTabulated(0, 0) != jaggedTabulation(scores, k, 0, 0)) {
+                throw new IllegalStateException("Los layouts no coinciden en " + size + "x" + size);
+            }
+
+            double jaggedMs = medianMillis(() -> jaggedTabulation(scores, k, 0, 0));
+            double flatMs = medianMillis(() -> dp.computeTabulated(0, 0));
+
+            System.out.printf("%-12s | %-15s | %-15s | %-10s%n",
+                              size + "x" + size,
+                              String.format("%.3f ms", jaggedMs),
+                              String.format("%.3f ms", flatMs),
+                              String.format("%.2fx", jaggedMs / flatMs));
+        }
+    }
+
+    /**
+     * Compara la tabla completa (mejor kernel, n² casillas por capa) contra la
+     * DP por ventana alcanzable (KnightsTourDPWindow) con k chico y n grande
+     */
+    private static void benchmarkWindow() {
+        int k = 50;
+        DPLayerKernel kernel = DPLayerKernel.best();
+
+        System.out.println("\n=== BENCHMARK: DP COMPLETA vs VENTANA ALCANZABLE (k=" + k + ") ===");
+        System.out.println();
+        System.out.printf("%-12s | %-15s | %-15s | %-10s%n", "Tablero", "Completa", "Ventana", "Speedup");
+        System.out.println("-------------|-----------------|-----------------|-----------");
+
+        for (int size : new int[] {256, 1024, 2048}) {
+            KnightsTourDP dp = new KnightsTourDP(size, k);
+            KnightsTourDPWindow window = dp.createWindowSolver();
+            int center = size / 2;
+
+            if (dp.computeWithKernel(kernel, center, center) != window.maximizeScore(center, center)) {
+                throw new IllegalStateException("La ventana no coincide en " + size + "x" + size);
+            }
+
+            double fullMs = medianMillis(() -> dp.computeWithKernel(kernel, center, center));
+            double windowMs = medianMillis(() -> window.maximizeScore(center, center));
+
+            System.out.printf("%-12s | %-15s | %-15s | %-10s%n",
+                              size + "x" + size,
+                              String.format("%.3f ms", fullMs),
+                              String.format("%.3f ms", windowMs),
+                              String.format("%.1fx", fullMs / windowMs));
+        }
+    }
+
+    /**
+     * Verifica y mide KnightsTourDPIncremental con lotes mixtos: chicos (cono
+     * local) y grandes (reconstrucción), con casillas repetidas, valores sin
+     * cambio y lotes con una posición inválida que deben rechazarse sin
+     * efectos. Después de cada lote se compara contra KnightsTourDP resuelto
+     * de cero con los mismos puntajes.
+     */
+    private static void benchmarkIncremental() {
+        int size = 128;
+        int k = 12;
+        int batches = 40;
+        java.util.Random random = new java.util.Random(29);
+
+        int[][] scores = new int[size][size];
+        for (int[] row : scores) {
+            for (int j = 0; j < size; j++) {
+                row[j] = random.nextInt(10) + 1;
+            }
+        }
+        KnightsTourDPIncremental incremental = new KnightsTourDPIncremental(scores, k);
+
+        System.out.println("\n=== VERIFICACIÓN: DP INCREMENTAL vs RE-SOLUCIÓN COMPLETA (" + size + "x" + size + ", k=" + k + ") ===");
+        System.out.println();
+
+        long incrementalNanos = 0;
+        long fullNanos = 0;
+        int rejected = 0;
+        for (int batch = 0; batch < batches; batch++) {
+            int count = batch % 4 == 0 ? 1 + random.nextInt(size * size) : 1 + random.nextInt(8);
+            int[] rows = new int[count];
+            int[] cols = new int[count];
+            int[] values = new int[count];
+            for (int i = 0; i < count; i++) {
+                rows[i] = random.nextInt(size);
+                cols[i] = random.nextInt(size);
+                // A veces el mismo valor (no cambia nada) o negativo
+                values[i] = random.nextInt(4) == 0 ? scores[rows[i]][cols[i]] : random.nextInt(21) - 5;
+            }
+
+            if (batch % 5 == 3) {
+                // Posición inválida al final: el lote entero debe rechazarse
+                rows[count - 1] = size;
+                try {
+                    incremental.updateScores(rows, cols, values);
+                    throw new IllegalStateException("Se aceptó un lote con posición inválida");
+                } catch (IllegalArgumentException expected) {
+                    rejected++;
+                }
+            } else {
+                long start = System.nanoTime();
+                incremental.updateScores(rows, cols, values);
+                incrementalNanos += System.nanoTime() - start;
+                for (int i = 0; i < count; i++) {
+                    scores[rows[i]][cols[i]] = values[i];
+                }
+            }
+
+            long start = System.nanoTime();
+            KnightsTourDP full = new KnightsTourDP(size, k);
+            full.setCustomScores(scores);
+            int[] expected = full.createQueryEngine().queryAllStarts(k);
+            fullNanos += System.nanoTime() - start;
+
+            for (int cell = 0; cell < size * size; cell++) {
+                if (incremental.query(cell / size, cell % size) != expected[cell]) {
+                    throw new IllegalStateException("Lote " + batch + ": la incremental no coincide en la casilla " + cell);
+                }
+            }
+            for (int sample = 0; sample < 4; sample++) {
+                int row = random.nextInt(size);
+                int col = random.nextInt(size);
+                if (incremental.query(row, col) != full.computeTabulated(row, col)) {
+                    throw new IllegalStateException("Lote " + batch + ": la incremental no coincide con la tabulación");
+                }
+            }
+        }
+
+        System.out.println("Lotes: " + batches + " (" + rejected + " rechazados por posición inválida), todas las casillas coinciden");
+        System.out.printf("Tiempo total incremental: %.3f ms | re-solución completa: %.3f ms%n",
+                          incrementalNanos / 1e6, fullNanos / 1e6);
+    }
+
+    /**
+     * Tabulación con el layout ORIGINAL de KnightsTourDP.solveMaximizeScoreITO:
+     * dp[row][col][move], con 'move' como índice más interno
+     */
+    private static int jaggedTabulation(int[][] scores, int maxMoves, int startRow, int startCol) {
+        int[][] knightMoves = {
+            {2, 1}, {1, 2}, {-1, 2}, {-2, 1},
+            {-2, -1}, {-1, -2}, {1, -2}, {2, -1}
+        };
+        int boardSize = scores.length;
+        int[][][] dp = new int[boardSize][boardSize][maxMoves + 1];
+
+        for (int move = 0; move <= maxMoves; move++) {
+            for (int row = 0; row < boardSize; row++) {
+                for (int col = 0; col < boardSize; col++) {
+                    if (move == 0) {
+                        dp[row][col][move] = scores[row][col];
+                    } else {
+                        int maxScore = scores[row][col];
+                        for (int[] knightMove : knightMoves) {
+                            int nextRow = row + knightMove[0];
+                            int nextCol = col + knightMove[1];
+                            if (nextRow >= 0 && nextRow < boardSize && nextCol >= 0 && nextCol < boardSize) {
+                                maxScore = Math.max(maxScore,
+                                    scores[row][col] + dp[nextRow][nextCol][move - 1]);
+                            }
+                        }
+                        dp[row][col][move] = maxScore;
+                    }
+                }
+            }
+        }
+        return dp[startRow][startCol][maxMoves];
+    }
+
+    /**
+     * Ejecuta la tarea con calentamiento y devuelve la mediana en milisegundos
+     */
+    static double medianMillis(java.util.function.IntSupplier task) {
+        // Calentamiento: al menos WARMUP_ROUNDS rondas y WARMUP_MIN_NANOS de tiempo
+        int sink = 0;
+        long warmupStart = System.nanoTime();
+        for (int i = 0; i < WARMUP_ROUNDS || System.nanoTime() - warmupStart < WARMUP_MIN_NANOS; i++) {
+            sink += task.getAsInt();
+        }
+
+        long[] times = new long[MEASURED_ROUNDS];
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            sink += task.getAsInt();
+            times[i] = System.nanoTime() - start;
+        }
+
+        // Evita que el JIT elimine el trabajo como código muerto
+        if (sink == 42) {
+            System.out.print("");
+        }
+
+        java.util.Arrays.sort(times);
+        return times[MEASURED_ROUNDS / 2] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,93 @@
+/**
+ * Kernel que calcula una capa de la tabla DP sobre un tablero con borde
+ *
+ * LAYOUT "PADDED": el tablero n x n se guarda plano con un borde de 2 casillas
+ * a cada lado (stride = n + 4). El borde vale NEG_INF, así que un salto de
+ * caballo desde una casilla interior siempre cae dentro del array y nunca
+ * necesita isValidPosition: un vecino fuera del tablero simplemente pierde
+ * en el max.
+ *
+ * Recurrencia (la de KnightMoves, idéntica a KnightsTourDP.solveMaximizeScoreITO):
+ *   current[c] = max(scores[c], scores[c] + max(previous[c + offset_i]))
+ *              = scores[c] + max(0, max(previous[c + offset_i]))
+ * es decir, "máximo de 8 planos desplazados más scores": apto para SIMD.
+ */
+public interface DPLayerKernel {
+
+    // Ancho del borde: el salto más largo del caballo es de 2 casillas
+    int PADDING = 2;
+
+    // "Menos infinito" con margen para que una suma nunca desborde
+    int NEG_INF = Integer.MIN_VALUE / 2;
+
+    // Nombre de la clase SIMD (se compila aparte, ver Codigo/vector/)
+    String VECTOR_KERNEL_CLASS = "VectorDPLayerKernel";
+
+    /**
+     * Calcula la capa actual a partir de la anterior
+     * Solo escribe casillas interiores; el borde de 'current' debe valer NEG_INF
+     *
+     * @param scores puntajes en layout padded
+     * @param previous capa move - 1 en layout padded
+     * @param current capa move en layout padded (salida)
+     * @param boardSize tamaño n del tablero (sin borde)
+     */
+    void computeLayer(int[] scores, int[] previous, int[] current, int boardSize);
+
+    /**
+     * Nombre descriptivo del kernel para reportes
+     */
+    String getName();
+
+    /**
+     * Distancia entre filas consecutivas en el layout padded
+     */
+    static int stride(int boardSize) {
+        return boardSize + 2 * PADDING;
+    }
+
+    /**
+     * Índice plano de la casilla interior (row, col)
+     */
+    static int index(int boardSize, int row, int col) {
+        return (row + PADDING) * stride(boardSize) + col + PADDING;
+    }
+
+    /**
+     * Desplazamientos planos de los 8 saltos del caballo en el layout padded
+     */
+    static int[] knightOffsets(int boardSize) {
+        return KnightMoves.offsets(stride(boardSize));
+    }
+
+    /**
+     * Copia una matriz de puntajes al layout padded (borde en NEG_INF)
+     */
+    static int[] pad(int[][] scores, int boardSize) {
+        int stride = stride(boardSize);
+        int[] padded = new int[stride * stride];
+        java.util.Arrays.fill(padded, NEG_INF);
+        for (int row = 0; row < boardSize; row++) {
+            System.arraycopy(scores[row], 0, padded, index(boardSize, row, 0), boardSize);
+        }
+        return padded;
+    }
+
+    /**
+     * Devuelve el kernel SIMD si el módulo jdk.incubator.vector está cargado
+     * (java --add-modules jdk.incubator.vector) y la clase fue compilada;
+     * en cualquier otro caso devuelve el kernel escalar
+     */
+    static DPLayerKernel best() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                return (DPLayerKernel) Class.forName(VECTOR_KERNEL_CLASS)
+                                            .getDeclaredConstructor()
+                                            .newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // Clase SIMD no compilada o no enlazable: usar la versión escalar
+            }
+        }
+        return new ScalarDPLayerKernel();
+    }
+}
@@ -0,0 +1,113 @@
+/**
+ * Saltos del caballo y paso de la recurrencia DP, compartidos por todos los
+ * motores DP (KnightsTourDP, QueryEngine, Incremental, SimplePath, TopK,
+ * Window y los kernels de DPLayerKernel)
+ *
+ * Recurrencia con revisitas (f(c, m) = máximo puntaje desde c con m
+ * movimientos restantes):
+ *   f(c, 0) = s(c)
+ *   f(c, m) = s(c) + max(0, max sobre los vecinos v de f(v, m - 1))
+ * donde el 0 es el caso "no moverse". Cada motor usa su propio layout, pero
+ * todos calculan cada casilla con bestNeighbour (plano fila por fila) o
+ * bestOf (planos con borde NEG_INF), así que no pueden divergir.
+ */
+final class KnightMoves {
+
+    // Los 8 saltos del caballo; el orden es el mismo en todos los solucionadores
+    // (TopK guarda el índice del salto en sus elecciones)
+    static final int[][] MOVES = {
+        {2, 1}, {1, 2}, {-1, 2}, {-2, 1},
+        {-2, -1}, {-1, -2}, {1, -2}, {2, -1}
+    };
+
+    static final int COUNT = MOVES.length;
+
+    private KnightMoves() {
+    }
+
+    /**
+     * Verifica si (row, col) está dentro de un tablero n x n
+     */
+    static boolean isValidPosition(int boardSize, int row, int col) {
+        return row >= 0 && row < boardSize &&
+               col >= 0 && col < boardSize;
+    }
+
+    /**
+     * Tabla de vecinos: neighbours[fila * n + columna] = casillas alcanzables
+     * con un salto, en el orden de MOVES
+     */
+    static int[][] neighbours(int boardSize) {
+        int[][] neighbours = new int[boardSize * boardSize][];
+        int[] buffer = new int[COUNT];
+        for (int cell = 0; cell < neighbours.length; cell++) {
+            int row = cell / boardSize;
+            int col = cell % boardSize;
+            int count = 0;
+            for (int[] move : MOVES) {
+                int nextRow = row + move[0];
+                int nextCol = col + move[1];
+                if (isValidPosition(boardSize, nextRow, nextCol)) {
+                    buffer[count++] = nextRow * boardSize + nextCol;
+                }
+            }
+            neighbours[cell] = java.util.Arrays.copyOf(buffer, count);
+        }
+        return neighbours;
+    }
+
+    /**
+     * Desplazamientos planos de los 8 saltos en un layout de ancho 'width'
+     * (para planos con borde de PADDING casillas, ver DPLayerKernel)
+     */
+    static int[] offsets(int width) {
+        int[] offsets = new int[COUNT];
+        for (int m = 0; m < COUNT; m++) {
+            offsets[m] = MOVES[m][0] * width + MOVES[m][1];
+        }
+        return offsets;
+    }
+
+    /**
+     * max(0, mejor vecino) de (row, col) en una capa plana fila por fila
+     */
+    static int bestNeighbour(int[] previous, int boardSize, int row, int col) {
+        // 0 representa el caso "no moverse"
+        int best = 0;
+        for (int[] move : MOVES) {
+            int nextRow = row + move[0];
+            int nextCol = col + move[1];
+            if (isValidPosition(boardSize, nextRow, nextCol)) {
+                best = Math.max(best, previous[nextRow * boardSize + nextCol]);
+            }
+        }
+        return best;
+    }
+
+    /**
+     * max(0, mejor vecino) de 'cell' en un plano con borde NEG_INF: los
+     * vecinos fuera del tablero caen en el borde y nunca ganan el max
+     */
+    static int bestOf(int[] previous, int cell, int[] offsets) {
+        // 0 representa el caso "no moverse"
+        int best = 0;
+        for (int offset : offsets) {
+            best = Math.max(best, previous[cell + offset]);
+        }
+        return best;
+    }
+
+    /**
+     * Una capa de la recurrencia para las filas [fromRow, toRow) en layout
+     * plano fila por fila: current[c] = scores[c] + bestNeighbour(previous, c)
+     */
+    static void step(int[] scores, int[] previous, int[] current, int boardSize, int fromRow, int toRow) {
+        for (int row = fromRow; row < toRow; row++) {
+            for (int col = 0; col < boardSize; col++) {
+                int cell = row * boardSize + col;
+                current[cell] = scores[cell] + bestNeighbour(previous, boardSize, row, col);
+            }
+        }
+    }
+
+}
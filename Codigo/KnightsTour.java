@@ -1,10 +1,12 @@
+import java.util.concurrent.atomic.AtomicBoolean;
+
 /**
  * Solucionador del Problema del Caballo
  * Problema: Un caballo de ajedrez debe recorrer un tablero de n x n 
  * visitando cada casilla exactamente una vez usando backtracking.
  * Este algoritmo encuentra todas las soluciones posibles.
  */
-public class KnightsTour {
+public class KnightsTour implements KnightsTourSolver {
     
     // Constante para casilla no visitada
     private static final int UNVISITED = -1;
@@ -15,12 +17,24 @@ public class KnightsTour {
     // Tablero matriz n x n
     private int[][] board;
     
+    // Sello de época por casilla: está visitada solo si stamps == epoch
+    // (fuera de la época actual, el valor de board no significa nada)
+    private final int[][] stamps;
+    private int epoch = 1;
+    
+    // Casilla (fila*n + columna) de cada paso del camino actual
+    private final int[] path;
+    
+    // Recorrido de la última búsqueda exitosa: se arma una sola vez al
+    // encontrarlo y getTour() devuelve siempre la misma instancia inmutable
+    private Tour tour;
+    
     // Método público para obtener una copia del tablero para visualización
     public int[][] getBoardCopy() {
         int[][] copy = new int[boardSize][boardSize];
         for (int i = 0; i < boardSize; i++) {
             for (int j = 0; j < boardSize; j++) {
-                copy[i][j] = board[i][j];
+                copy[i][j] = stamps[i][j] == epoch ? board[i][j] : UNVISITED;
             }
         }
         return copy;
@@ -36,6 +50,17 @@ public class KnightsTour {
     // Contador de soluciones encontradas
     private int solutionCount;
     
+    // Pedido de cancelación (puede llegar desde otro hilo)
+    private volatile boolean cancelled;
+    
+    // Señal compartida del llamador (ver setCancelSignal); solve() no la limpia
+    private AtomicBoolean cancelSignal;
+    
+    // Instrumentación (ver SolverMetrics): nodos de la última búsqueda y mayor profundidad alcanzada
+    private static final SolverMetrics METRICS = SolverMetrics.forSolver("Backtracking");
+    private long nodesExpanded;
+    private int deepest;
+    
     /**
      * Constructor para inicializar el solucionador
      * @param boardSize tamaño del tablero (boardSize x boardSize)
@@ -48,23 +73,42 @@ public class KnightsTour {
         
         this.boardSize = boardSize;
         this.board = new int[boardSize][boardSize];
+        this.stamps = new int[boardSize][boardSize]; // época 0: nada visitado
+        this.path = new int[boardSize * boardSize];
         this.solutionCount = 0;
-        
-        // Inicializar el tablero marcando todas las casillas como no visitadas
-        initializeBoard();
     }
     
     /**
-     * Inicializa el tablero con valores de no visitado
+     * Deja el tablero vacío en O(1): cambia de época en lugar de reescribir
+     * las n² casillas (solo cada ~2^31 reinicios se limpian los sellos)
      */
-    private void initializeBoard() {
-        for (int i = 0; i < boardSize; i++) {
-            for (int j = 0; j < boardSize; j++) {
-                board[i][j] = UNVISITED;
+    @Override
+    public void reset() {
+        tour = null;
+        if (++epoch == Integer.MAX_VALUE) {
+            for (int[] row : stamps) {
+                java.util.Arrays.fill(row, 0);
             }
+            epoch = 1;
         }
     }
     
+    /**
+     * Marca una casilla como visitada en la época actual
+     */
+    private void visit(int row, int col, int moveNumber) {
+        board[row][col] = moveNumber;
+        stamps[row][col] = epoch;
+        path[moveNumber] = row * boardSize + col;
+    }
+    
+    /**
+     * Deshace visit (backtracking)
+     */
+    private void unvisit(int row, int col) {
+        stamps[row][col] = 0;
+    }
+    
     /**
      * Verifica si una posición es válida dentro del tablero
      * @param row fila de la posición
@@ -74,7 +118,7 @@ public class KnightsTour {
     private boolean isValidMove(int row, int col) {
         return (row >= 0 && row < boardSize && 
                 col >= 0 && col < boardSize && 
-                board[row][col] == UNVISITED);
+                stamps[row][col] != epoch);
     }
     
     /**
@@ -121,27 +165,116 @@ public class KnightsTour {
      * @return true si se encontró una solución
      */
     public boolean findSingleSolution(int startingRow, int startingCol) {
+        SolverMetrics.Probe probe = SolverMetrics.ENABLED ? METRICS.begin(boardSize, startingRow, startingCol) : null;
+        nodesExpanded = 0;
+        deepest = 0;
+        boolean found = false;
+        try {
+            found = runSingleSolution(startingRow, startingCol);
+            return found;
+        } finally {
+            if (probe != null) {
+                probe.end(found, nodesExpanded, 0);
+            }
+        }
+    }
+    
+    /**
+     * Cuerpo de findSingleSolution (sin instrumentación)
+     */
+    private boolean runSingleSolution(int startingRow, int startingCol) {
+        // Cada búsqueda arranca sin pedido de cancelación: un cancel() que llegó
+        // tarde a la búsqueda anterior no debe cortar esta
+        cancelled = false;
+        
+        // Sin recorrido hasta encontrar uno (también si la posición es inválida)
+        tour = null;
+        
         // Validar coordenadas de entrada
         if (!isValidPosition(startingRow, startingCol)) {
             System.out.println("Posición inicial inválida.");
             return false;
         }
         
-        // Reinicializar el tablero para búsqueda limpia
-        initializeBoard();
+        // Tablero limpio en O(1)
+        reset();
         
         // Marcar la posición inicial como movimiento 0
-        board[startingRow][startingCol] = 0;
+        visit(startingRow, startingCol, 0);
         
         // Intentar resolver desde la posición inicial con recursión
         if (solveRecursiveSingle(startingRow, startingCol, 1)) {
+            tour = Tour.fromCells(boardSize, path, boardSize * boardSize);
             return true;
+        } else if (isCancelled()) {
+            System.out.println("Búsqueda cancelada.");
+            return false;
         } else {
             System.out.println("No se encontró solución para esta posición inicial.");
             return false;
         }
     }
     
+    /**
+     * @return recorrido de la última búsqueda exitosa (compacto, sin copiar el
+     *         tablero), o null si no hubo o se llamó a reset()
+     */
+    @Override
+    public Tour getTour() {
+        return tour;
+    }
+    
+    @Override
+    public String getName() {
+        return "Backtracking";
+    }
+    
+    @Override
+    public int getBoardSize() {
+        return boardSize;
+    }
+    
+    /**
+     * Equivalente a findSingleSolution
+     */
+    @Override
+    public boolean solve(int startRow, int startCol) {
+        return findSingleSolution(startRow, startCol);
+    }
+    
+    /**
+     * Pide detener findSingleSolution / findAllSolutions en curso
+     * La recursión revisa la bandera en cada nodo y se desarma sin explorar más;
+     * cada búsqueda limpia la bandera al empezar
+     */
+    @Override
+    public void cancel() {
+        cancelled = true;
+    }
+    
+    @Override
+    public void setCancelSignal(AtomicBoolean signal) {
+        cancelSignal = signal;
+    }
+    
+    /**
+     * Pedido propio (cancel()) o señal compartida del llamador
+     */
+    private boolean isCancelled() {
+        return cancelled || (cancelSignal != null && cancelSignal.get());
+    }
+    
+    /**
+     * Registra una nueva profundidad máxima; emite un hito JFR en cada cuarto del tablero
+     */
+    private void trackDepth(int moveNumber) {
+        deepest = moveNumber;
+        int quarter = Math.max(1, boardSize * boardSize / 4);
+        if (moveNumber % quarter == 0) {
+            METRICS.milestone("profundidad", moveNumber);
+        }
+    }
+    
     /**
      * Valida que las coordenadas estén dentro de los límites del tablero
      * (sin verificar si está visitada)
@@ -168,6 +301,16 @@ public class KnightsTour {
             return true; // ¡Solución encontrada!
         }
         
+        // Cancelación cooperativa: abandonar la rama sin explorar más
+        if (isCancelled()) {
+            return false;
+        }
+        
+        nodesExpanded++;
+        if (SolverMetrics.ENABLED && moveNumber > deepest) {
+            trackDepth(moveNumber);
+        }
+        
         // OPTIMIZACIÓN: Ordenar movimientos por número de opciones futuras (poda heurística)
         // Esto guía la búsqueda hacia áreas más prometedoras primero
         int[][] movesWithAccessibility = getMovesWithAccessibility(currentRow, currentCol);
@@ -178,7 +321,7 @@ public class KnightsTour {
             int nextCol = moveInfo[1];
             
             // Hacer el movimiento: marcar casilla con número de paso
-            board[nextRow][nextCol] = moveNumber;
+            visit(nextRow, nextCol, moveNumber);
             
             // Explorar recursivamente desde la nueva posición
             if (solveRecursiveSingle(nextRow, nextCol, moveNumber + 1)) {
@@ -186,7 +329,7 @@ public class KnightsTour {
             }
             
             // Backtracking: deshacer el movimiento si no lleva a solución
-            board[nextRow][nextCol] = UNVISITED;
+            unvisit(nextRow, nextCol);
         }
         
         // Ningún movimiento lleva a una solución desde esta posición
@@ -275,26 +418,38 @@ public class KnightsTour {
      * @return número total de soluciones encontradas
      */
     public int findAllSolutions(int startingRow, int startingCol) {
+        cancelled = false;
+        
         // Validar coordenadas de entrada
         if (!isValidPosition(startingRow, startingCol)) {
             System.out.println("Posición inicial inválida.");
             return 0;
         }
         
+        SolverMetrics.Probe probe = SolverMetrics.ENABLED ? METRICS.begin(boardSize, startingRow, startingCol) : null;
+        nodesExpanded = 0;
         solutionCount = 0;
         
-        // Reinicializar el tablero para búsqueda limpia
-        initializeBoard();
+        // Tablero limpio en O(1)
+        reset();
         
         // Marcar la posición inicial como primer movimiento
-        board[startingRow][startingCol] = 0;
+        visit(startingRow, startingCol, 0);
         
         // Buscar todas las soluciones con backtracking
         solveRecursiveAll(startingRow, startingCol, 1);
         
-        // Reinicializar el tablero después de la búsqueda
-        initializeBoard();
+        // Si se canceló, el conteo es parcial
+        if (isCancelled()) {
+            System.out.println("Búsqueda cancelada (conteo parcial).");
+        }
+        
+        // Dejar el tablero vacío después de la búsqueda
+        reset();
         
+        if (probe != null) {
+            probe.end(solutionCount > 0, nodesExpanded, 0);
+        }
         return solutionCount;
     }
     
@@ -313,6 +468,10 @@ public class KnightsTour {
         // Condición terminal: hemos completado el recorrido completo
         if (moveNumber == boardSize * boardSize) {
             solutionCount++;
+            // Hito JFR en 1, 2, 4, 8... soluciones
+            if (SolverMetrics.ENABLED && Integer.bitCount(solutionCount) == 1) {
+                METRICS.milestone("soluciones", solutionCount);
+            }
             // Opcional: imprimir cada solución encontrada
             if (solutionCount <= 10) { // Limitar para evitar spam en consola
                 System.out.println("Solución #" + solutionCount + ":");
@@ -323,6 +482,13 @@ public class KnightsTour {
             return;
         }
         
+        // Cancelación cooperativa
+        if (isCancelled()) {
+            return;
+        }
+        
+        nodesExpanded++;
+        
         // Explorar cada movimiento posible del caballo
         // NOTA: No ordenamos aquí para encontrar TODAS las soluciones sin sesgo
         // (el ordenamiento podría omitir algunas soluciones equivalentes)
@@ -333,13 +499,13 @@ public class KnightsTour {
             // Verificar si podemos hacer este movimiento (usar método helper para consistencia)
             if (isValidMove(nextRow, nextCol)) {
                 // Hacer el movimiento
-                board[nextRow][nextCol] = moveNumber;
+                visit(nextRow, nextCol, moveNumber);
                 
                 // Explorar recursivamente esta rama
                 solveRecursiveAll(nextRow, nextCol, moveNumber + 1);
                 
                 // Backtracking: deshacer movimiento para explorar otras opciones
-                board[nextRow][nextCol] = UNVISITED;
+                unvisit(nextRow, nextCol);
             }
         }
     }
@@ -0,0 +1,436 @@
+/**
+ * Recorrido abierto del caballo con casilla inicial Y final fijas
+ * (búsqueda bidireccional, "meet in the middle")
+ *
+ * Filtrar la salida de KnightsTour.findSingleSolution por casilla final
+ * desperdicia casi toda la búsqueda. Acá se crecen medios caminos desde
+ * los dos extremos y se unen en la casilla del medio:
+ *
+ * 1. Desde el final se enumeran los caminos que cubren N - h + 1 casillas
+ *    (N = n², h = ⌈N/2⌉) y se guardan en un índice hash de estados
+ *    (máscara de visitadas, casilla donde termina) -> cantidad de caminos
+ * 2. Desde el inicio se enumeran los caminos de h casillas; uno que cubre
+ *    la máscara A y termina en m se completa con los del índice en el
+ *    estado (complemento de A + m, m)
+ *
+ * Cada mitad explora árboles de profundidad ~N/2 en lugar de N, y los
+ * caminos finales que llegan al mismo estado se cuentan una sola vez.
+ *
+ * La máscara es un long, así que el tablero es de a lo sumo 8x8; en la
+ * práctica el índice entra en memoria hasta 6x6.
+ */
+public class KnightsTourBidirectional {
+
+    // Constante para casilla no visitada
+    private static final int UNVISITED = -1;
+
+    // Máscara de 64 bits: una casilla por bit
+    private static final int MAX_BOARD_SIZE = 8;
+
+    // Todos los posibles movimientos del caballo (mismo orden que KnightsTour)
+    private static final int[][] KNIGHT_MOVES = {
+        {2, 1}, {1, 2}, {-1, 2}, {-2, 1},
+        {-2, -1}, {-1, -2}, {1, -2}, {2, -1}
+    };
+
+    private static final SolverMetrics METRICS = SolverMetrics.forSolver("Bidireccional");
+
+    private final int boardSize;
+    private final int cells;
+
+    // Vecinos de cada casilla (índice fila*n+columna), en el orden de KNIGHT_MOVES
+    private final int[][] neighbors;
+
+    // Resultado de la última findPath exitosa
+    private final int[][] board;
+    private Tour tour;
+
+    // Estado de la búsqueda en curso
+    private StateIndex index;
+    private int[] forwardPath;
+    private int[] backwardPath;
+    private int forwardCells;
+    private int backwardCells;
+    private int targetCell;  // casilla final
+    private long full;
+    private long total;
+    private long nodesExpanded;
+    private boolean stopAtFirst;
+
+    // Pedido de cancelación (puede llegar desde otro hilo)
+    private volatile boolean cancelled;
+
+    /**
+     * @param boardSize tamaño del tablero (boardSize x boardSize)
+     * @throws IllegalArgumentException si boardSize no está entre 3 y 8
+     */
+    public KnightsTourBidirectional(int boardSize) {
+        if (boardSize < 3) {
+            throw new IllegalArgumentException("El tablero debe ser de al menos 3x3");
+        }
+        if (boardSize > MAX_BOARD_SIZE) {
+            throw new IllegalArgumentException("La búsqueda bidireccional admite tableros de hasta "
+                                               + MAX_BOARD_SIZE + "x" + MAX_BOARD_SIZE);
+        }
+
+        this.boardSize = boardSize;
+        this.cells = boardSize * boardSize;
+        this.board = new int[boardSize][boardSize];
+        this.neighbors = new int[cells][];
+
+        for (int row = 0; row < boardSize; row++) {
+            for (int col = 0; col < boardSize; col++) {
+                int[] buffer = new int[KNIGHT_MOVES.length];
+                int count = 0;
+                for (int[] move : KNIGHT_MOVES) {
+                    int nextRow = row + move[0];
+                    int nextCol = col + move[1];
+                    if (isValidPosition(nextRow, nextCol)) {
+                        buffer[count++] = nextRow * boardSize + nextCol;
+                    }
+                }
+                neighbors[row * boardSize + col] = java.util.Arrays.copyOf(buffer, count);
+            }
+        }
+
+        for (int[] rowCells : board) {
+            java.util.Arrays.fill(rowCells, UNVISITED);
+        }
+    }
+
+    /**
+     * Busca un recorrido abierto que empiece en (startRow, startCol) y termine
+     * en (endRow, endCol); si lo encuentra queda en getBoardCopy()
+     * @return true si se encontró
+     */
+    public boolean findPath(int startRow, int startCol, int endRow, int endCol) {
+        SolverMetrics.Probe probe = SolverMetrics.ENABLED ? METRICS.begin(boardSize, startRow, startCol) : null;
+        nodesExpanded = 0;
+        tour = null;
+        cancelled = false;
+        boolean found = false;
+        try {
+            found = search(startRow, startCol, endRow, endCol, true) > 0;
+            if (!found && !cancelled) {
+                System.out.println("No existe recorrido entre esas casillas.");
+            }
+            return found;
+        } finally {
+            if (cancelled) {
+                System.out.println("Búsqueda cancelada.");
+            }
+            if (probe != null) {
+                probe.end(found, nodesExpanded, 0);
+            }
+        }
+    }
+
+    /**
+     * Cuenta todos los recorridos abiertos entre las dos casillas
+     * @return cantidad de recorridos, -1 si las posiciones son inválidas
+     *         (si se cancela, el conteo es parcial)
+     */
+    public long countPaths(int startRow, int startCol, int endRow, int endCol) {
+        SolverMetrics.Probe probe = SolverMetrics.ENABLED ? METRICS.begin(boardSize, startRow, startCol) : null;
+        nodesExpanded = 0;
+        cancelled = false;
+        long count = -1;
+        try {
+            count = search(startRow, startCol, endRow, endCol, false);
+            return count;
+        } finally {
+            if (cancelled) {
+                System.out.println("Búsqueda cancelada (conteo parcial).");
+            }
+            if (probe != null) {
+                probe.end(count > 0, nodesExpanded, 0);
+            }
+        }
+    }
+
+    /**
+     * Pide detener findPath / countPaths en curso (cada búsqueda limpia la
+     * bandera al empezar: un pedido tardío no corta la siguiente)
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * @return copia del tablero con el número de paso de cada casilla
+     *         (el de la última findPath exitosa)
+     */
+    public int[][] getBoardCopy() {
+        int[][] copy = new int[boardSize][boardSize];
+        for (int i = 0; i < boardSize; i++) {
+            copy[i] = board[i].clone();
+        }
+        return copy;
+    }
+
+    /**
+     * @return recorrido de la última findPath exitosa (ver Tour), o null
+     */
+    public Tour getTour() {
+        return tour;
+    }
+
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    // Búsqueda -----------------------------------------------------------
+
+    /**
+     * Construye el índice desde el final y recorre las mitades desde el inicio
+     * @return caminos encontrados (en modo búsqueda, > 0 si hubo alguno), -1 si
+     *         las posiciones son inválidas
+     */
+    private long search(int startRow, int startCol, int endRow, int endCol, boolean findFirst) {
+        if (!isValidPosition(startRow, startCol) || !isValidPosition(endRow, endCol)) {
+            System.out.println("Posición inicial o final inválida.");
+            return -1;
+        }
+        int start = startRow * boardSize + startCol;
+        int end = endRow * boardSize + endCol;
+        if (start == end) {
+            System.out.println("La casilla final debe ser distinta de la inicial.");
+            return -1;
+        }
+
+        // Paridad: el caballo alterna de color en cada salto, así que el paso
+        // N - 1 tiene color fijo
+        if ((((startRow + startCol) ^ (endRow + endCol)) & 1) != ((cells - 1) & 1)) {
+            return 0;
+        }
+
+        forwardCells = (cells + 1) / 2;
+        backwardCells = cells - forwardCells + 1;
+        full = cells == 64 ? -1L : (1L << cells) - 1;
+        stopAtFirst = findFirst;
+        total = 0;
+        targetCell = end;
+
+        try {
+            // 1. Índice de medios caminos desde el final (sin pisar el inicio)
+            index = new StateIndex();
+            indexBackward(end, 1L << end, 1, 1L << start);
+            if (SolverMetrics.ENABLED) {
+                METRICS.milestone("estados", index.size());
+            }
+            if (cancelled || index.size() == 0) {
+                return 0;
+            }
+
+            // 2. Medios caminos desde el inicio (sin pisar el final)
+            forwardPath = new int[forwardCells];
+            forwardPath[0] = start;
+            joinForward(start, 1L << start, 1, 1L << end);
+            return total;
+        } finally {
+            index = null;
+        }
+    }
+
+    /**
+     * Enumera los caminos desde el final de backwardCells casillas y cuenta
+     * cuántos llegan a cada estado (máscara, casilla)
+     */
+    private void indexBackward(int cell, long mask, int length, long forbidden) {
+        if (length == backwardCells) {
+            index.add(mask, cell, 1);
+            return;
+        }
+        if (cancelled) {
+            return;
+        }
+        nodesExpanded++;
+
+        for (int next : neighbors[cell]) {
+            long bit = 1L << next;
+            if (((mask | forbidden) & bit) == 0 && !strandsNeighbor(cell, next, mask | bit, forbidden)) {
+                indexBackward(next, mask | bit, length + 1, forbidden);
+            }
+        }
+    }
+
+    /**
+     * Enumera los caminos desde el inicio de forwardCells casillas y los une
+     * con los del índice
+     * @return true si hay que cortar (modo búsqueda con camino encontrado)
+     */
+    private boolean joinForward(int cell, long mask, int length, long forbidden) {
+        if (length == forwardCells) {
+            long complement = (full & ~mask) | (1L << cell);
+            long matches = index.get(complement, cell);
+            if (matches == 0) {
+                return false;
+            }
+            total += matches;
+            if (stopAtFirst) {
+                buildBoard(complement, cell);
+                return true;
+            }
+            return false;
+        }
+        if (cancelled) {
+            return true;
+        }
+        nodesExpanded++;
+
+        for (int next : neighbors[cell]) {
+            long bit = 1L << next;
+            if (((mask | forbidden) & bit) == 0 && !strandsNeighbor(cell, next, mask | bit, forbidden)) {
+                forwardPath[length] = next;
+                if (joinForward(next, mask | bit, length + 1, forbidden)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Poda por grado: el resto del recorrido va de la nueva cabeza al otro
+     * extremo pasando por todas las casillas libres, así que cada casilla libre
+     * necesita 2 vecinos libres (o la cabeza), y el otro extremo al menos 1.
+     * Al avanzar, solo los vecinos de la cabeza anterior pierden un acceso.
+     *
+     * @param oldHead casilla que deja de ser cabeza
+     * @param head nueva cabeza
+     * @param visited casillas de esta mitad, incluida la nueva cabeza
+     * @param otherEnd bit del extremo opuesto (libre, pero no se pisa)
+     * @return true si alguna casilla libre quedó sin salida
+     */
+    private boolean strandsNeighbor(int oldHead, int head, long visited, long otherEnd) {
+        for (int free : neighbors[oldHead]) {
+            long freeBit = 1L << free;
+            if ((visited & freeBit) != 0) {
+                continue;
+            }
+            int needed = (otherEnd & freeBit) != 0 ? 1 : 2;
+            int open = 0;
+            for (int next : neighbors[free]) {
+                if (next == head || (visited & (1L << next)) == 0) {
+                    if (++open >= needed) {
+                        break;
+                    }
+                }
+            }
+            if (open < needed) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Escribe el recorrido en el tablero: la mitad inicial guardada y una mitad
+     * final reconstruida dentro del complemento (el índice solo guarda conteos)
+     */
+    private void buildBoard(long complement, int meeting) {
+        backwardPath = new int[backwardCells];
+        backwardPath[0] = meeting;
+        traceWithin(meeting, 1L << meeting, 1, complement);
+
+        int[] cellOfStep = java.util.Arrays.copyOf(forwardPath, cells);
+        System.arraycopy(backwardPath, 1, cellOfStep, forwardCells, backwardCells - 1);
+        for (int step = 0; step < cells; step++) {
+            int cell = cellOfStep[step];
+            board[cell / boardSize][cell % boardSize] = step;
+        }
+        tour = Tour.fromCells(boardSize, cellOfStep, cells);
+    }
+
+    /**
+     * Camino desde 'cell' que cubre exactamente 'allowed' y termina en la
+     * casilla final (existe: el índice lo contó)
+     */
+    private boolean traceWithin(int cell, long mask, int length, long allowed) {
+        if (length == backwardCells) {
+            return cell == targetCell;
+        }
+        for (int next : neighbors[cell]) {
+            long bit = 1L << next;
+            // La casilla final solo puede ser el último paso
+            if ((allowed & ~mask & bit) != 0 && (next != targetCell || length + 1 == backwardCells)) {
+                backwardPath[length] = next;
+                if (traceWithin(next, mask | bit, length + 1, allowed)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Índice hash abierto de estados (máscara, casilla) -> cantidad de caminos
+     * Arreglos paralelos en lugar de HashMap<Long, Long>: sin boxing ni nodos
+     */
+    private static final class StateIndex {
+        private long[] masks = new long[1 << 10];
+        private byte[] ends = new byte[1 << 10];
+        private long[] counts = new long[1 << 10];
+        private int size;
+
+        void add(long mask, int end, long count) {
+            if (2 * (size + 1) > masks.length) {
+                grow();
+            }
+            int slot = find(masks, ends, counts, mask, end);
+            if (counts[slot] == 0) {
+                masks[slot] = mask;
+                ends[slot] = (byte) end;
+                size++;
+            }
+            counts[slot] += count;
+        }
+
+        long get(long mask, int end) {
+            return counts[find(masks, ends, counts, mask, end)];
+        }
+
+        int size() {
+            return size;
+        }
+
+        private void grow() {
+            long[] oldMasks = masks;
+            byte[] oldEnds = ends;
+            long[] oldCounts = counts;
+            masks = new long[oldMasks.length * 2];
+            ends = new byte[oldMasks.length * 2];
+            counts = new long[oldMasks.length * 2];
+            for (int i = 0; i < oldMasks.length; i++) {
+                if (oldCounts[i] != 0) {
+                    int slot = find(masks, ends, counts, oldMasks[i], oldEnds[i]);
+                    masks[slot] = oldMasks[i];
+                    ends[slot] = oldEnds[i];
+                    counts[slot] = oldCounts[i];
+                }
+            }
+        }
+
+        /**
+         * Casilla del estado, o la primera libre de su secuencia de sondeo
+         * (las entradas libres tienen cantidad 0)
+         */
+        private static int find(long[] masks, byte[] ends, long[] counts, long mask, int end) {
+            // Hash de Fibonacci: los bits altos del producto son los mejor
+            // mezclados, así que se toman tantos como pide la capacidad
+            long hash = (mask ^ ((long) end << 58)) * 0x9E3779B97F4A7C15L;
+            int slot = (int) (hash >>> (64 - Integer.numberOfTrailingZeros(masks.length)));
+            while (counts[slot] != 0 && (masks[slot] != mask || ends[slot] != end)) {
+                slot = (slot + 1) & (masks.length - 1);
+            }
+            return slot;
+        }
+    }
+
+    // Helper methods ---------------------------------------------------
+
+    private boolean isValidPosition(int row, int col) {
+        return row >= 0 && row < boardSize && col >= 0 && col < boardSize;
+    }
+
+}
@@ -1,3 +1,6 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
 /**
  * Implementación de Knight's Tour usando Programación Dinámica
  * 
@@ -6,22 +9,51 @@
  * - Caballo debe maximizar suma de puntos
  * - Exactamente k movimientos
  * - Solución optimizada con DP (memoización + tabulation)
+ * 
+ * TAMAÑO: la memoización, las tablas completas y los motores derivados
+ * (consultas, incremental, sin revisitas, top-K) guardan O(n²·k) enteros en
+ * el heap e indexan con int. Si la tabla no entra en un array o supera el
+ * heap disponible se lanza IllegalArgumentException antes de reservarla.
+ * Para tableros mapeados enormes solo createWindowSolver() escala: su
+ * memoria depende de k, no de n.
  */
 public class KnightsTourDP {
     
     private int[][] scores;
+    
+    // Puntajes leídos directo de un archivo mapeado (null si se usan 'scores')
+    private MappedScoreBoard mappedScores;
+    
     private int boardSize;
     private int maxMoves;
     
-    // Memoización map para caching resultados
-    // memo[row][col][moves] = máximo score desde (row,col) con 'moves' movimientos restantes
-    private int[][][] memo;
+    // Memoización en un único array plano "capa primero":
+    // memo[memoIndex(row, col, moves)] = máximo score desde (row,col) con 'moves' movimientos restantes
+    // Se reserva recién en solveMaximizeScore: los modos tabulados no lo necesitan
+    private int[] memo;
+    
+    // Sello de época por entrada: memo[i] vale solo si memoStamps[i] == memoEpoch,
+    // así invalidar la memoización es un incremento y no un fill de n²·(k+1)
+    private int[] memoStamps;
+    private int memoEpoch = 1;
+    
+    // Mínimo de casillas por banda en modo paralelo (por debajo no compensa crear tareas)
+    private static final int MIN_CELLS_PER_BAND = 4096;
+    
+    // Bandas por hilo disponible: margen para balancear carga con work-stealing
+    private static final int BANDS_PER_THREAD = 4;
     
-    // Todos los posibles movimientos del caballo (8 direcciones)
-    private static final int[][] KNIGHT_MOVES = {
-        {2, 1}, {1, 2}, {-1, 2}, {-2, 1},
-        {-2, -1}, {-1, -2}, {1, -2}, {2, -1}
-    };
+    // Longitud máxima de array que la JVM reserva de forma fiable
+    private static final long MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+    
+    // Instrumentación (ver SolverMetrics): una entrada JMX por modo de cálculo
+    private static final SolverMetrics MEMO_METRICS = SolverMetrics.forSolver("DP-Memo");
+    private static final SolverMetrics TABULATED_METRICS = SolverMetrics.forSolver("DP-Tabulada");
+    private static final SolverMetrics PARALLEL_METRICS = SolverMetrics.forSolver("DP-Paralela");
+    private static final SolverMetrics KERNEL_METRICS = SolverMetrics.forSolver("DP-Kernel");
+    
+    // Entradas de memo calculadas en la última llamada a solveMaximizeScore
+    private long cellsComputed;
     
     /**
      * Constructor para inicializar el solver DP
@@ -32,13 +64,22 @@ public class KnightsTourDP {
         this.boardSize = boardSize;
         this.maxMoves = k;
         this.scores = new int[boardSize][boardSize];
-        this.memo = new int[boardSize][boardSize][k + 1];
         
-        // Inicializar matriz de memo con valores no calculados
-        initializeMemo();
         initializeBoard();
     }
     
+    /**
+     * Constructor que lee los puntajes de un archivo mapeado en memoria
+     * Los puntajes no se copian: cada lectura va a la memoria off-heap del archivo
+     * @param board tablero mapeado (ver MappedScoreBoard)
+     * @param k número de movimientos que debe realizar el caballo
+     */
+    public KnightsTourDP(MappedScoreBoard board, int k) {
+        this.boardSize = board.getBoardSize();
+        this.maxMoves = k;
+        this.mappedScores = board;
+    }
+    
     /**
      * Inicializa el sistema de puntuación del tablero
      * Puede ser configurado manualmente o generado aleatoriamente
@@ -57,23 +98,30 @@ public class KnightsTourDP {
      * @param customScores matriz de puntajes personalizada
      */
     public void setCustomScores(int[][] customScores) {
+        if (mappedScores != null) {
+            throw new IllegalStateException("El tablero mapeado es de solo lectura");
+        }
+        
         for (int i = 0; i < boardSize && i < customScores.length; i++) {
             for (int j = 0; j < boardSize && j < customScores[i].length; j++) {
                 scores[i][j] = customScores[i][j];
             }
         }
+        
+        // Los valores memoizados dependen de los puntajes: invalidarlos
+        reset();
     }
     
     /**
-     * Inicializa la memoización con valores indicadores
+     * Descarta la memoización en O(1) (cambio de época); la tabla se
+     * conserva para la próxima llamada a solveMaximizeScore
      */
-    private void initializeMemo() {
-        for (int i = 0; i < boardSize; i++) {
-            for (int j = 0; j < boardSize; j++) {
-                for (int m = 0; m <= maxMoves; m++) {
-                    memo[i][j][m] = -1; // Indica valor no calculado
-                }
+    public void reset() {
+        if (++memoEpoch == Integer.MAX_VALUE) {
+            if (memoStamps != null) {
+                java.util.Arrays.fill(memoStamps, 0);
             }
+            memoEpoch = 1;
         }
     }
     
@@ -96,12 +144,25 @@ public class KnightsTourDP {
         System.out.println("Movimientos permitidos: " + maxMoves);
         System.out.println();
         
+        if (memo == null) {
+            // Sellos en 0: ninguna entrada pertenece a la época actual
+            // (memo + sellos: dos tablas de (k + 1)·n²)
+            int length = tableLength(maxMoves + 1L, (long) boardSize * boardSize, 2, "la memoización");
+            memo = new int[length];
+            memoStamps = new int[length];
+        }
+        
         // Calcular máximo score usando DP
+        SolverMetrics.Probe probe = SolverMetrics.ENABLED ? MEMO_METRICS.begin(boardSize, startRow, startCol) : null;
+        cellsComputed = 0;
         int maxScore = dpMaximizeScore(startRow, startCol, maxMoves);
+        if (probe != null) {
+            probe.end(true, 0, cellsComputed);
+        }
         
         if (maxScore > 0) {
             System.out.println("✅ Máxima puntuación alcanzable: " + maxScore);
-            showOptimalPath(startRow, startCol);
+            showOptimalPath(startRow, startCol, maxScore);
         } else {
             System.out.println("❌ No se puede alcanzar puntuación válida");
         }
@@ -128,38 +189,35 @@ public class KnightsTourDP {
     private int dpMaximizeScore(int currentRow, int currentCol, int remainingMoves) {
         // Caso base: si no quedan movimientos, retornar solo el puntaje de la posición actual
         if (remainingMoves == 0) {
-            return scores[currentRow][currentCol];
+            return scoreAt(currentRow, currentCol);
         }
         
         // Verificar memo cache
-        if (memo[currentRow][currentCol][remainingMoves] != -1) {
-            return memo[currentRow][currentCol][remainingMoves];
+        int memoCell = memoIndex(currentRow, currentCol, remainingMoves);
+        if (memoStamps[memoCell] == memoEpoch) {
+            return memo[memoCell];
         }
         
-        // Inicializar con el score de quedarse en la posición actual
-        // (si no hay movimientos válidos desde aquí, al menos obtenemos este score)
-        int maxScore = scores[currentRow][currentCol];
-        
-        // Explorar todos los movimientos posibles del caballo
-        for (int[] move : KNIGHT_MOVES) {
+        // Recurrencia de KnightMoves: score actual + max(0, mejor vecino con
+        // remainingMoves - 1); el 0 es quedarse (si no hay movimientos válidos
+        // desde aquí, al menos obtenemos este score)
+        int best = 0;
+        for (int[] move : KnightMoves.MOVES) {
             int nextRow = currentRow + move[0];
             int nextCol = currentCol + move[1];
             
-            // Verificar si el movimiento es válido (solo verifica límites del tablero)
-            // NO verificamos visitados - permitimos volver a casillas para maximizar score
+            // Solo verifica límites del tablero: NO verificamos visitados,
+            // permitimos volver a casillas para maximizar score
             if (isValidPosition(nextRow, nextCol)) {
-                // Recurrencia: score de posición actual + máximo score desde la siguiente posición
-                // con (remainingMoves - 1) movimientos restantes
-                int optionScore = scores[currentRow][currentCol] + 
-                                 dpMaximizeScore(nextRow, nextCol, remainingMoves - 1);
-                
-                // Maximizar sobre todas las opciones
-                maxScore = Math.max(maxScore, optionScore);
+                best = Math.max(best, dpMaximizeScore(nextRow, nextCol, remainingMoves - 1));
             }
         }
+        int maxScore = scoreAt(currentRow, currentCol) + best;
         
         // Guardar resultado en memo cache
-        memo[currentRow][currentCol][remainingMoves] = maxScore;
+        memo[memoCell] = maxScore;
+        memoStamps[memoCell] = memoEpoch;
+        cellsComputed++;
         return maxScore;
     }
     
@@ -175,54 +233,310 @@ public class KnightsTourDP {
      * @return máximo puntaje alcanzable
      */
     public int solveMaximizeScoreITO(int startRow, int startCol) {
+        if (!isValidPosition(startRow, startCol)) {
+            System.out.println("Posición inicial inválida.");
+            return -1;
+        }
+        
         System.out.println("Ejecutando PD Iterativa (Tabulation)...");
         
-        // dp[i][j][k] = máximo puntaje desde posición (i,j) con k movimientos restantes
-        int[][][] dp = new int[boardSize][boardSize][maxMoves + 1];
+        int result = computeTabulated(startRow, startCol);
+        System.out.println("✅ Máximo puntaje (Iterativo): " + result);
+        return result;
+    }
+    
+    /**
+     * Llena la tabla completa bottom-up (sin salida por consola)
+     * 
+     * LAYOUT: un único int[] "capa primero". Cada capa 'move' es un plano
+     * padded (ver DPLayerKernel: stride n + 4 con borde NEG_INF), así que el
+     * bucle interno recorre memoria contigua de la capa actual, lee la capa
+     * anterior en 8 desplazamientos fijos y no verifica límites.
+     * 
+     * La capa 0 son los propios puntajes: se llena una vez (desde la matriz o
+     * leyendo el archivo mapeado casilla por casilla) y cada capa la relee
+     * como puntaje, sin otra copia del tablero. Cada capa es una pasada
+     * secuencial fila por fila; no hay reuso entre capas, así que con tablas
+     * más grandes que la caché el costo lo marca el ancho de banda.
+     */
+    int computeTabulated(int startRow, int startCol) {
+        SolverMetrics.Probe probe = SolverMetrics.ENABLED ? TABULATED_METRICS.begin(boardSize, startRow, startCol) : null;
+        int stride = DPLayerKernel.stride(boardSize);
+        int plane = tableLength(1, (long) stride * stride, 1, "la tabulación");
+        int[] offsets = DPLayerKernel.knightOffsets(boardSize);
+        
+        // dp[move * plane + index(row, col)] = máximo puntaje con 'move' movimientos restantes
+        int[] dp = new int[tableLength(maxMoves + 1L, plane, 1, "la tabulación")];
         
-        // Llenar tabla DP bottom-up (desde 0 movimientos hasta maxMoves)
-        for (int move = 0; move <= maxMoves; move++) {
+        // Caso base: 0 movimientos restantes = solo score de posición actual
+        java.util.Arrays.fill(dp, 0, plane, DPLayerKernel.NEG_INF);
+        for (int row = 0; row < boardSize; row++) {
+            int rowBase = DPLayerKernel.index(boardSize, row, 0);
+            if (mappedScores == null) {
+                System.arraycopy(scores[row], 0, dp, rowBase, boardSize);
+            } else {
+                for (int col = 0; col < boardSize; col++) {
+                    dp[rowBase + col] = mappedScores.getScore(row, col);
+                }
+            }
+        }
+        
+        // Llenar tabla DP bottom-up (desde 1 movimiento hasta maxMoves)
+        for (int move = 1; move <= maxMoves; move++) {
+            int layer = move * plane;
+            int previousLayer = layer - plane;
+            
+            // Borde de la capa en NEG_INF: un vecino fuera del tablero nunca gana el max
+            java.util.Arrays.fill(dp, layer, layer + plane, DPLayerKernel.NEG_INF);
+            
             for (int row = 0; row < boardSize; row++) {
+                int rowBase = (row + DPLayerKernel.PADDING) * stride + DPLayerKernel.PADDING;
                 for (int col = 0; col < boardSize; col++) {
-                    
-                    if (move == 0) {
-                        // Caso base: 0 movimientos restantes = solo score de posición actual
-                        dp[row][col][move] = scores[row][col];
-                    } else {
-                        // Inicializar con score de posición actual (caso: no moverse)
-                        int maxScore = scores[row][col];
-                        
-                        // Explorar todos los movimientos válidos del caballo
-                        for (int[] knightMove : KNIGHT_MOVES) {
-                            int nextRow = row + knightMove[0];
-                            int nextCol = col + knightMove[1];
-                            
-                            if (isValidPosition(nextRow, nextCol)) {
-                                // Recurrencia: score actual + máximo desde siguiente posición
-                                maxScore = Math.max(maxScore, 
-                                    scores[row][col] + dp[nextRow][nextCol][move - 1]);
-                            }
-                        }
-                        
-                        dp[row][col][move] = maxScore;
-                    }
+                    int cell = rowBase + col;
+                    // dp[cell] (capa 0) es el puntaje
+                    dp[layer + cell] = dp[cell] + KnightMoves.bestOf(dp, previousLayer + cell, offsets);
                 }
             }
+            
+            if (SolverMetrics.ENABLED) {
+                layerMilestone(TABULATED_METRICS, move);
+            }
         }
         
-        int result = dp[startRow][startCol][maxMoves];
-        System.out.println("✅ Máximo puntaje (Iterativo): " + result);
+        if (probe != null) {
+            probe.end(true, 0, tableCells());
+        }
+        return dp[maxMoves * plane + DPLayerKernel.index(boardSize, startRow, startCol)];
+    }
+    
+    /**
+     * Versión PARALELA de la tabulación (mismo resultado que solveMaximizeScoreITO)
+     * 
+     * Dentro de una capa 'move' las n² casillas son independientes: solo leen la
+     * capa move - 1. Cada capa se divide en bandas de filas que procesa un
+     * ForkJoinPool; pool.invoke() no retorna hasta terminar todas las bandas,
+     * lo que actúa como barrera entre capas.
+     * 
+     * Tamaño de banda adaptativo: ~BANDS_PER_THREAD bandas por hilo, pero nunca
+     * menos de MIN_CELLS_PER_BAND casillas por banda. En tableros chicos esto
+     * deja una sola banda y se calcula secuencialmente en el hilo actual.
+     * 
+     * @param startRow posición inicial fila
+     * @param startCol posición inicial columna
+     * @return máximo puntaje alcanzable
+     */
+    public int solveMaximizeScoreParallel(int startRow, int startCol) {
+        if (!isValidPosition(startRow, startCol)) {
+            System.out.println("Posición inicial inválida.");
+            return -1;
+        }
+        
+        System.out.println("Ejecutando PD Iterativa Paralela (Tabulation)...");
+        
+        SolverMetrics.Probe probe = SolverMetrics.ENABLED ? PARALLEL_METRICS.begin(boardSize, startRow, startCol) : null;
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        int bandRows = computeBandRows(pool.getParallelism());
+        
+        // Puntajes planos y dos capas: la anterior (lectura) y la actual (escritura)
+        int cells = tableLength(1, (long) boardSize * boardSize, 3, "la tabulación paralela");
+        int[] base = new int[cells];
+        int[] previous = new int[cells];
+        int[] current = new int[cells];
+        
+        // Caso base: 0 movimientos restantes = solo score de posición actual
+        for (int row = 0; row < boardSize; row++) {
+            for (int col = 0; col < boardSize; col++) {
+                base[row * boardSize + col] = scoreAt(row, col);
+            }
+        }
+        System.arraycopy(base, 0, previous, 0, cells);
+        
+        for (int move = 1; move <= maxMoves; move++) {
+            LayerTask task = new LayerTask(base, previous, current, 0, boardSize, bandRows);
+            if (bandRows >= boardSize) {
+                task.compute();
+            } else {
+                pool.invoke(task);
+            }
+            
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+            
+            if (SolverMetrics.ENABLED) {
+                layerMilestone(PARALLEL_METRICS, move);
+            }
+        }
+        
+        if (probe != null) {
+            probe.end(true, 0, tableCells());
+        }
+        int result = previous[startRow * boardSize + startCol];
+        System.out.println("✅ Máximo puntaje (Paralelo): " + result);
+        return result;
+    }
+    
+    /**
+     * Elige cuántas filas procesa cada banda según el tamaño del tablero y los hilos
+     */
+    private int computeBandRows(int parallelism) {
+        int byThreads = (boardSize + parallelism * BANDS_PER_THREAD - 1) / (parallelism * BANDS_PER_THREAD);
+        int byWork = (MIN_CELLS_PER_BAND + boardSize - 1) / boardSize;
+        return Math.max(1, Math.max(byThreads, byWork));
+    }
+    
+    /**
+     * Calcula una capa de la tabla para las filas [fromRow, toRow)
+     * Si la banda es mayor que bandRows se divide en dos mitades (fork/join)
+     */
+    private class LayerTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] base;
+        private final int[] previous;
+        private final int[] current;
+        private final int fromRow;
+        private final int toRow;
+        private final int bandRows;
+        
+        LayerTask(int[] base, int[] previous, int[] current, int fromRow, int toRow, int bandRows) {
+            this.base = base;
+            this.previous = previous;
+            this.current = current;
+            this.fromRow = fromRow;
+            this.toRow = toRow;
+            this.bandRows = bandRows;
+        }
+        
+        @Override
+        protected void compute() {
+            if (toRow - fromRow <= bandRows) {
+                KnightMoves.step(base, previous, current, boardSize, fromRow, toRow);
+                return;
+            }
+            int middle = (fromRow + toRow) >>> 1;
+            invokeAll(new LayerTask(base, previous, current, fromRow, middle, bandRows),
+                      new LayerTask(base, previous, current, middle, toRow, bandRows));
+        }
+    }
+    
+    /**
+     * Versión de la tabulación sobre layout padded con un kernel por capa
+     * Usa el kernel SIMD si el Vector API está disponible; si no, el escalar
+     * (ver DPLayerKernel). Mismo resultado que solveMaximizeScoreITO.
+     * 
+     * @param startRow posición inicial fila
+     * @param startCol posición inicial columna
+     * @return máximo puntaje alcanzable
+     */
+    public int solveMaximizeScoreKernel(int startRow, int startCol) {
+        if (!isValidPosition(startRow, startCol)) {
+            System.out.println("Posición inicial inválida.");
+            return -1;
+        }
+        
+        DPLayerKernel kernel = DPLayerKernel.best();
+        System.out.println("Ejecutando PD Iterativa con kernel " + kernel.getName() + "...");
+        
+        int result = computeWithKernel(kernel, startRow, startCol);
+        System.out.println("✅ Máximo puntaje (Kernel): " + result);
         return result;
     }
     
+    /**
+     * Llena la tabla capa por capa con el kernel dado (sin salida por consola)
+     * Solo mantiene dos capas padded: la anterior y la actual. El kernel lee
+     * los puntajes como un plano padded más, así que con un tablero mapeado
+     * se materializa ese único plano (memoria O(n²), nunca O(n²·k))
+     */
+    int computeWithKernel(DPLayerKernel kernel, int startRow, int startCol) {
+        SolverMetrics.Probe probe = SolverMetrics.ENABLED ? KERNEL_METRICS.begin(boardSize, startRow, startCol) : null;
+        int stride = DPLayerKernel.stride(boardSize);
+        tableLength(1, (long) stride * stride, 3, "el kernel");
+        int[] paddedScores = paddedScores();
+        
+        // Caso base: 0 movimientos restantes = solo score (el borde ya es NEG_INF)
+        int[] previous = paddedScores.clone();
+        int[] current = new int[paddedScores.length];
+        java.util.Arrays.fill(current, DPLayerKernel.NEG_INF);
+        
+        for (int move = 1; move <= maxMoves; move++) {
+            kernel.computeLayer(paddedScores, previous, current, boardSize);
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+            
+            if (SolverMetrics.ENABLED) {
+                layerMilestone(KERNEL_METRICS, move);
+            }
+        }
+        
+        if (probe != null) {
+            probe.end(true, 0, tableCells());
+        }
+        return previous[DPLayerKernel.index(boardSize, startRow, startCol)];
+    }
+    
+    /**
+     * Crea un motor de consultas con la tabla completa para los puntajes actuales
+     * Permite responder muchas consultas (inicio, k) con k <= maxMoves sin recalcular
+     * @return motor inmutable y seguro para uso concurrente
+     */
+    public KnightsTourDPQueryEngine createQueryEngine() {
+        requireHeapTable(maxMoves + 1L, (long) boardSize * boardSize, "el motor de consultas");
+        return new KnightsTourDPQueryEngine(scoresOnHeap(), maxMoves);
+    }
+
+    /**
+     * Crea un solver incremental con la tabla completa para los puntajes actuales
+     * Útil cuando los puntajes cambian de a pocas casillas entre consultas
+     * @return solver que recalcula solo el área afectada en cada actualización
+     */
+    public KnightsTourDPIncremental createIncrementalSolver() {
+        requireHeapTable(maxMoves + 1L, (long) boardSize * boardSize, "el solver incremental");
+        return new KnightsTourDPIncremental(scoresOnHeap(), maxMoves);
+    }
+    
+    /**
+     * Crea un solver exacto para la variante SIN revisitas (camino simple)
+     * usando la tabla con revisitas de estos puntajes como cota superior
+     * @return solver Branch & Bound para k = maxMoves
+     */
+    public KnightsTourDPSimplePath createSimplePathSolver() {
+        requireHeapTable(maxMoves + 1L, (long) boardSize * boardSize, "el solver sin revisitas");
+        return new KnightsTourDPSimplePath(scoresOnHeap(), maxMoves);
+    }
+    
+    /**
+     * Crea un solver que calcula solo la región alcanzable en k saltos desde
+     * cada inicio (ventana de (4k + 5)², independiente de n)
+     * Lee estos mismos puntajes (o el archivo mapeado) sin copiarlos
+     * @return solver para tableros enormes con k chico
+     */
+    public KnightsTourDPWindow createWindowSolver() {
+        return mappedScores != null
+            ? new KnightsTourDPWindow(mappedScores, maxMoves)
+            : new KnightsTourDPWindow(scores, maxMoves);
+    }
+    
+    /**
+     * Crea un solver que conserva los K mejores caminos por estado
+     * @param topK cantidad de caminos alternativos (K >= 1)
+     * @return solver con los K mejores caminos de maxMoves movimientos desde cada casilla
+     */
+    public KnightsTourDPTopK createTopKSolver(int topK) {
+        // Valores y decisiones: (k + 1)·n²·K enteros cada uno, en arrays planos
+        tableLength((maxMoves + 1L) * boardSize * boardSize, Math.max(1, topK), 2, "el solver top-K");
+        return new KnightsTourDPTopK(scoresOnHeap(), maxMoves, topK);
+    }
+    
     /**
      * Muestra información sobre el camino óptimo que lleva al máximo puntaje
      * Nota: La reconstrucción completa del camino requiere almacenar decisiones,
      * no solo los valores óptimos. Por simplicidad, mostramos la información disponible.
      */
-    private void showOptimalPath(int startRow, int startCol) {
+    private void showOptimalPath(int startRow, int startCol, int maxScoreCurrent) {
         System.out.println("--- Análisis de Path Óptimo ---");
-        int maxScoreCurrent = memo[startRow][startCol][maxMoves];
         System.out.println("Puntuación máxima desde (" + startRow + "," + startCol + 
                          ") con " + maxMoves + " movimientos: " + maxScoreCurrent);
         System.out.println("(Reconstrucción completa del camino requiere almacenar decisiones en memo)");
@@ -245,7 +559,7 @@ public class KnightsTourDP {
         for (int i = 0; i < boardSize; i++) {
             System.out.print("|");
             for (int j = 0; j < boardSize; j++) {
-                System.out.printf("%3d|", scores[i][j]);
+                System.out.printf("%3d|", scoreAt(i, j));
             }
             System.out.println();
             
@@ -261,12 +575,128 @@ public class KnightsTourDP {
     
     // Helper methods ---------------------------------------------------
     
+    /**
+     * Puntaje de una casilla, ya sea de la matriz o del archivo mapeado
+     */
+    private int scoreAt(int row, int col) {
+        return mappedScores != null ? mappedScores.getScore(row, col) : scores[row][col];
+    }
+    
+    /**
+     * Casillas de una tabla completa (n² por capa, k capas)
+     */
+    private long tableCells() {
+        return (long) boardSize * boardSize * maxMoves;
+    }
+    
+    /**
+     * Hito JFR al terminar cada cuarto de las capas
+     */
+    private void layerMilestone(SolverMetrics metrics, int move) {
+        int quarter = Math.max(1, maxMoves / 4);
+        if (move % quarter == 0) {
+            metrics.milestone("capa", move);
+        }
+    }
+    
+    /**
+     * Índice plano de memo: capa 'moves' primero, luego fila y columna
+     * (no desborda: tableLength ya verificó que (k + 1)·n² entra en un int)
+     */
+    private int memoIndex(int row, int col, int moves) {
+        return (moves * boardSize + row) * boardSize + col;
+    }
+    
+    /**
+     * Puntajes en layout padded (borde NEG_INF) para los kernels
+     * (el llamador ya verificó que stride² entra en un int[])
+     */
+    private int[] paddedScores() {
+        if (mappedScores == null) {
+            return DPLayerKernel.pad(scores, boardSize);
+        }
+        int stride = DPLayerKernel.stride(boardSize);
+        int[] padded = new int[stride * stride];
+        java.util.Arrays.fill(padded, DPLayerKernel.NEG_INF);
+        for (int i = 0; i < boardSize; i++) {
+            for (int j = 0; j < boardSize; j++) {
+                padded[DPLayerKernel.index(boardSize, i, j)] = mappedScores.getScore(i, j);
+            }
+        }
+        return padded;
+    }
+    
+    /**
+     * Longitud de una tabla plana de layers x plane enteros
+     * Lanza IllegalArgumentException si no entra en un int[] o si 'copies'
+     * tablas de ese tamaño superan el heap máximo (en lugar de desbordar el
+     * índice o terminar en OutOfMemoryError)
+     */
+    private int tableLength(long layers, long plane, int copies, String mode) {
+        long length = multiplyOrMax(layers, plane);
+        if (length > MAX_ARRAY_LENGTH) {
+            throw new IllegalArgumentException(tooLarge(mode, length + " enteros en un solo array"));
+        }
+        requireHeap(length, copies, mode);
+        return (int) length;
+    }
+    
+    /**
+     * Igual que tableLength pero para tablas de 'layers' arrays de 'plane'
+     * enteros cada uno (solo cada capa debe entrar en un int[])
+     */
+    private void requireHeapTable(long layers, long plane, String mode) {
+        if (plane > MAX_ARRAY_LENGTH) {
+            throw new IllegalArgumentException(tooLarge(mode, plane + " enteros por capa"));
+        }
+        requireHeap(multiplyOrMax(layers, plane), 1, mode);
+    }
+    
+    private void requireHeap(long length, int copies, String mode) {
+        long bytes = multiplyOrMax(length, 4L * copies);
+        long available = Runtime.getRuntime().maxMemory();
+        if (bytes > available) {
+            throw new IllegalArgumentException(tooLarge(mode,
+                (bytes >> 20) + " MB y el heap máximo es de " + (available >> 20) + " MB"));
+        }
+    }
+    
+    private String tooLarge(String mode, String detail) {
+        return "Tablero de " + boardSize + "x" + boardSize + " con k = " + maxMoves
+             + " demasiado grande para " + mode + " (" + detail + "); use createWindowSolver()";
+    }
+    
+    private static long multiplyOrMax(long a, long b) {
+        try {
+            return Math.multiplyExact(a, b);
+        } catch (ArithmeticException overflow) {
+            return Long.MAX_VALUE;
+        }
+    }
+    
+    /**
+     * Matriz de puntajes en el heap para los motores que construyen su propia
+     * copia (con un tablero mapeado se materializa una vez; los llamadores ya
+     * verificaron que n² entra en el heap)
+     */
+    private int[][] scoresOnHeap() {
+        if (mappedScores == null) {
+            return scores;
+        }
+        int[][] copy = new int[boardSize][boardSize];
+        for (int i = 0; i < boardSize; i++) {
+            for (int j = 0; j < boardSize; j++) {
+                copy[i][j] = mappedScores.getScore(i, j);
+            }
+        }
+        return copy;
+    }
+    
     /**
      * Verifica si una posición está dentro de los límites del tablero
      */
     private boolean isValidPosition(int row, int col) {
-        return row >= 0 && row < boardSize && 
-               col >= 0 && col < boardSize;
+        return KnightMoves.isValidPosition(boardSize, row, col);
     }
     
 }
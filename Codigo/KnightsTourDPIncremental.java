@@ -0,0 +1,287 @@
+/**
+ * Programación Dinámica INCREMENTAL para tableros cuyos puntajes cambian
+ * de a pocas casillas
+ *
+ * Mantiene la tabla completa table[m][fila * n + columna] (igual que
+ * KnightsTourDPQueryEngine) y, cuando cambian algunos puntajes, recalcula
+ * solo el "cono" afectado capa por capa:
+ *
+ * - Capa 0: cambian exactamente las casillas modificadas
+ * - Capa m: solo pueden cambiar las casillas modificadas (su score entra en
+ *   todas las capas) y las casillas desde las que se salta a una casilla que
+ *   CAMBIÓ en la capa m - 1. Como el salto del caballo es simétrico, esas son
+ *   los vecinos-caballo de las casillas cambiadas.
+ * - Si un valor recalculado queda igual, no propaga: el cono se poda solo.
+ *
+ * Si el área sucia de una capa supera REBUILD_FRACTION del tablero, el resto
+ * de las capas se recalcula completo (más barato que seguir marcando).
+ *
+ * No es seguro para uso concurrente: las actualizaciones mutan la tabla.
+ */
+public class KnightsTourDPIncremental {
+
+    // Fracción del tablero a partir de la cual conviene recalcular capas completas
+    private static final double REBUILD_FRACTION = 0.5;
+
+    private final int boardSize;
+    private final int maxMoves;
+
+    // Puntajes actuales en layout plano
+    private final int[] scores;
+
+    // table[m][row * boardSize + col] = máximo puntaje con m movimientos restantes
+    private final int[][] table;
+
+    // Marcas para deduplicar casillas candidatas de una capa (sello = capa actual)
+    private final int[] candidateStamp;
+    private int stampCounter;
+
+    // Listas reutilizables de casillas: candidatas y cambiadas en la capa anterior
+    private int[] candidates;
+    private int[] changedCells;
+    private int[] nextChangedCells;
+
+    /**
+     * Resultado de una actualización incremental
+     */
+    public static final class UpdateStats {
+        private final long cellsRecomputed;
+        private final long fullCells;
+        private final boolean fullRebuild;
+
+        UpdateStats(long cellsRecomputed, long fullCells, boolean fullRebuild) {
+            this.cellsRecomputed = cellsRecomputed;
+            this.fullCells = fullCells;
+            this.fullRebuild = fullRebuild;
+        }
+
+        // Casillas (fila, columna, capa) recalculadas en esta actualización
+        public long getCellsRecomputed() {
+            return cellsRecomputed;
+        }
+
+        // Casillas que habría recalculado una reconstrucción completa: n² × (k + 1)
+        public long getFullCells() {
+            return fullCells;
+        }
+
+        // true si alguna capa cayó en el recálculo completo
+        public boolean isFullRebuild() {
+            return fullRebuild;
+        }
+
+        // Fracción de trabajo ahorrado respecto de recalcular todo (0..1)
+        public double getSavedFraction() {
+            return 1.0 - (double) cellsRecomputed / fullCells;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d/%d casillas recalculadas (%.1f%% ahorrado)%s",
+                                 cellsRecomputed, fullCells, getSavedFraction() * 100,
+                                 fullRebuild ? " [recálculo completo]" : "");
+        }
+    }
+
+    /**
+     * Construye la tabla completa para los puntajes iniciales
+     * @param initialScores matriz de puntajes (n x n); se copia
+     * @param maxMoves número de movimientos k
+     * @throws IllegalArgumentException si el tablero está vacío o no es cuadrado, o k es negativo
+     */
+    public KnightsTourDPIncremental(int[][] initialScores, int maxMoves) {
+        if (initialScores == null || initialScores.length == 0) {
+            throw new IllegalArgumentException("El tablero de puntajes no puede estar vacío");
+        }
+        if (maxMoves < 0) {
+            throw new IllegalArgumentException("El número de movimientos no puede ser negativo");
+        }
+
+        this.boardSize = initialScores.length;
+        this.maxMoves = maxMoves;
+        this.scores = new int[boardSize * boardSize];
+        this.table = new int[maxMoves + 1][boardSize * boardSize];
+        this.candidateStamp = new int[boardSize * boardSize];
+        this.candidates = new int[16];
+        this.changedCells = new int[16];
+        this.nextChangedCells = new int[16];
+
+        for (int row = 0; row < boardSize; row++) {
+            if (initialScores[row].length != boardSize) {
+                throw new IllegalArgumentException("El tablero de puntajes debe ser cuadrado");
+            }
+            System.arraycopy(initialScores[row], 0, scores, row * boardSize, boardSize);
+        }
+
+        rebuildFrom(0);
+    }
+
+    /**
+     * Máximo puntaje desde (row, col) con k = maxMoves movimientos
+     * @return máximo puntaje, o -1 si la posición es inválida
+     */
+    public int query(int row, int col) {
+        if (!isValidPosition(row, col)) {
+            return -1;
+        }
+        return table[maxMoves][row * boardSize + col];
+    }
+
+    /**
+     * Cambia el puntaje de una casilla y actualiza la tabla
+     */
+    public UpdateStats updateScore(int row, int col, int value) {
+        return updateScores(new int[] {row}, new int[] {col}, new int[] {value});
+    }
+
+    /**
+     * Cambia varios puntajes (rows[i], cols[i]) := values[i] y recalcula
+     * solo el cono afectado de cada capa
+     *
+     * @return estadísticas de trabajo realizado y ahorrado
+     * @throws IllegalArgumentException si los arrays difieren en longitud o hay
+     *         posiciones inválidas (en ese caso no se aplica ningún cambio)
+     */
+    public UpdateStats updateScores(int[] rows, int[] cols, int[] values) {
+        if (rows.length != cols.length || rows.length != values.length) {
+            throw new IllegalArgumentException("Los arrays de actualización deben tener la misma longitud");
+        }
+
+        long fullCells = (long) boardSize * boardSize * (maxMoves + 1);
+
+        // Validar todo el lote antes de tocar nada: un error a mitad de camino
+        // dejaría la capa 0 cambiada y las capas 1..k sin recalcular
+        for (int i = 0; i < rows.length; i++) {
+            if (!isValidPosition(rows[i], cols[i])) {
+                throw new IllegalArgumentException("Posición inválida: (" + rows[i] + ", " + cols[i] + ")");
+            }
+        }
+
+        // Capa 0: aplicar cambios y quedarse con las casillas que realmente cambiaron
+        int[] modified = new int[rows.length];
+        int modifiedCount = 0;
+        nextStamp();
+        for (int i = 0; i < rows.length; i++) {
+            int cell = rows[i] * boardSize + cols[i];
+            if (scores[cell] != values[i]) {
+                scores[cell] = values[i];
+                table[0][cell] = values[i];
+                if (candidateStamp[cell] != stampCounter) {
+                    candidateStamp[cell] = stampCounter;
+                    modified[modifiedCount++] = cell;
+                }
+            }
+        }
+
+        long recomputed = modifiedCount;
+        int changedCount = modifiedCount;
+        changedCells = ensureCapacity(changedCells, changedCount);
+        System.arraycopy(modified, 0, changedCells, 0, changedCount);
+
+        for (int move = 1; move <= maxMoves; move++) {
+            if (changedCount == 0 && modifiedCount == 0) {
+                break; // Nada cambió: las capas superiores siguen válidas
+            }
+
+            // Candidatas = casillas modificadas ∪ vecinos-caballo de las cambiadas en move - 1
+            nextStamp();
+            int candidateCount = 0;
+            candidates = ensureCapacity(candidates, modifiedCount + changedCount * KnightMoves.COUNT);
+            for (int i = 0; i < modifiedCount; i++) {
+                candidateStamp[modified[i]] = stampCounter;
+                candidates[candidateCount++] = modified[i];
+            }
+            for (int i = 0; i < changedCount; i++) {
+                int cell = changedCells[i];
+                int row = cell / boardSize;
+                int col = cell % boardSize;
+                for (int[] knightMove : KnightMoves.MOVES) {
+                    int nextRow = row + knightMove[0];
+                    int nextCol = col + knightMove[1];
+                    if (isValidPosition(nextRow, nextCol)) {
+                        int neighbour = nextRow * boardSize + nextCol;
+                        if (candidateStamp[neighbour] != stampCounter) {
+                            candidateStamp[neighbour] = stampCounter;
+                            candidates[candidateCount++] = neighbour;
+                        }
+                    }
+                }
+            }
+
+            // Área sucia grande: recalcular completas las capas restantes
+            if (candidateCount > REBUILD_FRACTION * boardSize * boardSize) {
+                rebuildFrom(move);
+                recomputed += (long) boardSize * boardSize * (maxMoves - move + 1);
+                return new UpdateStats(recomputed, fullCells, true);
+            }
+
+            // Recalcular candidatas; las que cambian alimentan la capa siguiente
+            nextChangedCells = ensureCapacity(nextChangedCells, candidateCount);
+            int nextChangedCount = 0;
+            for (int i = 0; i < candidateCount; i++) {
+                int cell = candidates[i];
+                int value = computeCell(move, cell);
+                if (table[move][cell] != value) {
+                    table[move][cell] = value;
+                    nextChangedCells[nextChangedCount++] = cell;
+                }
+            }
+            recomputed += candidateCount;
+
+            int[] swap = changedCells;
+            changedCells = nextChangedCells;
+            nextChangedCells = swap;
+            changedCount = nextChangedCount;
+        }
+
+        return new UpdateStats(recomputed, fullCells, false);
+    }
+
+    /**
+     * Recalcula completas las capas fromMove..maxMoves
+     */
+    private void rebuildFrom(int fromMove) {
+        if (fromMove == 0) {
+            System.arraycopy(scores, 0, table[0], 0, scores.length);
+            fromMove = 1;
+        }
+        for (int move = fromMove; move <= maxMoves; move++) {
+            KnightMoves.step(scores, table[move - 1], table[move], boardSize, 0, boardSize);
+        }
+    }
+
+    /**
+     * Recurrencia compartida (KnightMoves) para una casilla
+     */
+    private int computeCell(int move, int cell) {
+        return scores[cell] + KnightMoves.bestNeighbour(table[move - 1], boardSize, cell / boardSize, cell % boardSize);
+    }
+
+    // Helper methods ---------------------------------------------------
+
+    /**
+     * Avanza el sello de deduplicación; al desbordar limpia las marcas
+     */
+    private void nextStamp() {
+        if (stampCounter == Integer.MAX_VALUE) {
+            java.util.Arrays.fill(candidateStamp, 0);
+            stampCounter = 0;
+        }
+        stampCounter++;
+    }
+
+    private static int[] ensureCapacity(int[] array, int required) {
+        if (array.length >= required) {
+            return array;
+        }
+        return new int[Math.max(required, array.length * 2)];
+    }
+
+    /**
+     * Verifica si una posición está dentro de los límites del tablero
+     */
+    private boolean isValidPosition(int row, int col) {
+        return KnightMoves.isValidPosition(boardSize, row, col);
+    }
+
+}
@@ -0,0 +1,130 @@
+/**
+ * Motor de consultas sobre la tabla de Programación Dinámica del caballo
+ *
+ * La tabla que llena KnightsTourDP cubre TODAS las casillas iniciales para
+ * TODOS los valores de movimientos restantes, pero solveMaximizeScore
+ * responde solo un par (inicio, k). Este motor construye la tabla una única
+ * vez por tablero de puntajes y luego responde lotes de consultas (inicio, k)
+ * leyendo directamente de ella.
+ *
+ * - Tabla en orden "capa primero": table[movimientos][fila * n + columna]
+ * - Resultados devueltos como arrays primitivos (sin objetos intermedios)
+ * - Inmutable después del constructor: una misma instancia puede atender
+ *   consultas concurrentes desde varios hilos sin sincronización
+ */
+public class KnightsTourDPQueryEngine {
+
+    // Tamaño del tablero
+    private final int boardSize;
+
+    // Máximo número de movimientos cubierto por la tabla
+    private final int maxMoves;
+
+    // table[m][row * boardSize + col] = máximo puntaje desde (row,col) con m movimientos restantes
+    private final int[][] table;
+
+    /**
+     * Construye la tabla completa para un tablero de puntajes
+     * COMPLEJIDAD: O(n² × k × 8) una sola vez; cada consulta posterior es O(1)
+     *
+     * @param scores matriz de puntajes (n x n); se copia, no se retiene la referencia
+     * @param maxMoves máximo k que se podrá consultar
+     * @throws IllegalArgumentException si el tablero está vacío, no es cuadrado o maxMoves es negativo
+     */
+    public KnightsTourDPQueryEngine(int[][] scores, int maxMoves) {
+        if (scores == null || scores.length == 0) {
+            throw new IllegalArgumentException("El tablero de puntajes no puede estar vacío");
+        }
+        if (maxMoves < 0) {
+            throw new IllegalArgumentException("El número de movimientos no puede ser negativo");
+        }
+
+        this.boardSize = scores.length;
+        this.maxMoves = maxMoves;
+        this.table = new int[maxMoves + 1][boardSize * boardSize];
+
+        // Caso base: 0 movimientos restantes = solo score de la casilla
+        for (int row = 0; row < boardSize; row++) {
+            if (scores[row].length != boardSize) {
+                throw new IllegalArgumentException("El tablero de puntajes debe ser cuadrado");
+            }
+            System.arraycopy(scores[row], 0, table[0], row * boardSize, boardSize);
+        }
+
+        buildTable();
+    }
+
+    /**
+     * Llena las capas 1..maxMoves bottom-up con la recurrencia compartida
+     * (KnightMoves.step; se permite revisitar casillas)
+     */
+    private void buildTable() {
+        for (int move = 1; move <= maxMoves; move++) {
+            KnightMoves.step(table[0], table[move - 1], table[move], boardSize, 0, boardSize);
+        }
+    }
+
+    /**
+     * Responde una consulta individual
+     * @param row fila inicial
+     * @param col columna inicial
+     * @param k movimientos permitidos (0..maxMoves)
+     * @return máximo puntaje, o -1 si la posición o k están fuera de rango
+     */
+    public int query(int row, int col, int k) {
+        if (!isValidPosition(row, col) || k < 0 || k > maxMoves) {
+            return -1;
+        }
+        return table[k][row * boardSize + col];
+    }
+
+    /**
+     * Responde un lote de consultas (rows[i], cols[i], ks[i])
+     * Las consultas inválidas devuelven -1 en su posición, igual que query()
+     *
+     * @return array con un resultado por consulta, en el mismo orden
+     * @throws IllegalArgumentException si los arrays no tienen la misma longitud
+     */
+    public int[] query(int[] rows, int[] cols, int[] ks) {
+        if (rows.length != cols.length || rows.length != ks.length) {
+            throw new IllegalArgumentException("Los arrays de consulta deben tener la misma longitud");
+        }
+
+        int[] results = new int[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            results[i] = query(rows[i], cols[i], ks[i]);
+        }
+        return results;
+    }
+
+    /**
+     * Devuelve el máximo puntaje para TODAS las casillas iniciales con k movimientos
+     * @param k movimientos permitidos (0..maxMoves)
+     * @return copia de la capa k, indexada como fila * n + columna
+     * @throws IllegalArgumentException si k está fuera de rango
+     */
+    public int[] queryAllStarts(int k) {
+        if (k < 0 || k > maxMoves) {
+            throw new IllegalArgumentException("k debe estar entre 0 y " + maxMoves);
+        }
+        return table[k].clone();
+    }
+
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    public int getMaxMoves() {
+        return maxMoves;
+    }
+
+    // Helper methods ---------------------------------------------------
+
+    /**
+     * Verifica si una posición está dentro de los límites del tablero
+     */
+    private boolean isValidPosition(int row, int col) {
+        return KnightMoves.isValidPosition(boardSize, row, col);
+    }
+
+}
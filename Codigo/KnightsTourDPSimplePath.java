@@ -0,0 +1,465 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Máximo puntaje en k movimientos SIN revisitar casillas (camino simple)
+ *
+ * KnightsTourDP permite volver a una casilla ya visitada; acá cada casilla
+ * suma a lo sumo una vez. El estado pasa a incluir el conjunto de casillas
+ * visitadas, así que se resuelve con Branch & Bound exacto:
+ *
+ * - Cota superior admisible = mínimo entre
+ *   1. la tabla DP con revisitas (KnightsTourDPQueryEngine): todo camino
+ *      simple es también un camino con revisitas, y
+ *   2. la cota por asignación a pasos: los mejores puntajes NO visitados,
+ *      respetando distancia de caballo y paridad de color (ver
+ *      bestStepAssignment). En tableros chicos la distancia es exacta (BFS
+ *      de todas las casillas, n⁴ enteros); en los grandes se usa una cota
+ *      inferior cerrada en O(1), que deja la cota admisible sin memoria n⁴.
+ * - Estado de visitadas como máscara de bits (long[]; una sola palabra en
+ *   tableros de hasta 8x8).
+ * - Incumbente inicial por beam search y exploración de hijos en orden de
+ *   mejor cota primero (best-first dentro de una búsqueda en profundidad,
+ *   con memoria acotada a O(k) por tarea).
+ * - Cada primer movimiento es una tarea de un ForkJoinPool; todas comparten
+ *   la mejor solución encontrada (incumbente) para podar.
+ *
+ * Igual que KnightsTourDP, el caballo puede detenerse antes de agotar los k
+ * movimientos si seguir no mejora el puntaje.
+ */
+public class KnightsTourDPSimplePath {
+
+    // Caminos parciales que conserva cada nivel del beam search inicial
+    private static final int BEAM_WIDTH = 512;
+
+    // Hasta esta cantidad de casillas se guarda la tabla exacta de distancias
+    // (n² x n² enteros: 4 MB en 32x32); por encima, cota inferior cerrada
+    private static final int EXACT_DISTANCE_MAX_CELLS = 1024;
+
+    private final int boardSize;
+    private final int maxMoves;
+
+    // Palabras de 64 bits necesarias para la máscara de visitadas
+    private final int maskWords;
+
+    // Puntajes en layout plano
+    private final int[] scores;
+
+    // bound[m][cell] = máximo con revisitas desde cell con m movimientos (cota admisible)
+    private final int[][] bound;
+
+    // Casillas con puntaje positivo ordenadas por puntaje descendente (y su fila/columna)
+    private final int[] cellsByScore;
+    private final int[] rowsByScore;
+    private final int[] colsByScore;
+
+    // neighbours[cell] = casillas alcanzables con un salto de caballo
+    private final int[][] neighbours;
+
+    // distance[a][b] = mínimo número de saltos de caballo entre a y b (BFS);
+    // null en tableros de más de EXACT_DISTANCE_MAX_CELLS casillas
+    private final int[][] distance;
+
+    // Mejor solución encontrada (compartida entre tareas)
+    private final AtomicInteger bestScore = new AtomicInteger();
+    private int[] bestPath;
+    private final AtomicLong nodesExpanded = new AtomicLong();
+
+    // Instrumentación (ver SolverMetrics)
+    private static final SolverMetrics METRICS = SolverMetrics.forSolver("DP-SinRevisitas");
+
+    /**
+     * @param scores matriz de puntajes (n x n); se copia
+     * @param k máximo número de movimientos
+     * @throws IllegalArgumentException si el tablero está vacío o no es cuadrado, o k es negativo
+     */
+    public KnightsTourDPSimplePath(int[][] scores, int k) {
+        KnightsTourDPQueryEngine engine = new KnightsTourDPQueryEngine(scores, k);
+
+        this.boardSize = scores.length;
+        this.maxMoves = k;
+        this.maskWords = (boardSize * boardSize + 63) / 64;
+        this.scores = engine.queryAllStarts(0);
+        this.bound = new int[k + 1][];
+        for (int m = 0; m <= k; m++) {
+            bound[m] = engine.queryAllStarts(m);
+        }
+
+        this.neighbours = KnightMoves.neighbours(boardSize);
+
+        if (neighbours.length <= EXACT_DISTANCE_MAX_CELLS) {
+            this.distance = new int[neighbours.length][];
+            for (int cell = 0; cell < neighbours.length; cell++) {
+                distance[cell] = knightDistancesFrom(cell);
+            }
+        } else {
+            this.distance = null;
+        }
+
+        List<Integer> cells = new ArrayList<>();
+        for (int cell = 0; cell < this.scores.length; cell++) {
+            if (this.scores[cell] > 0) {
+                cells.add(cell);
+            }
+        }
+        cells.sort((a, b) -> Integer.compare(this.scores[b], this.scores[a]));
+        this.cellsByScore = cells.stream().mapToInt(Integer::intValue).toArray();
+        this.rowsByScore = new int[cellsByScore.length];
+        this.colsByScore = new int[cellsByScore.length];
+        for (int i = 0; i < cellsByScore.length; i++) {
+            rowsByScore[i] = cellsByScore[i] / boardSize;
+            colsByScore[i] = cellsByScore[i] % boardSize;
+        }
+    }
+
+    /**
+     * Busca el camino simple de a lo sumo k movimientos con máximo puntaje
+     * @param startRow fila inicial
+     * @param startCol columna inicial
+     * @return máximo puntaje (óptimo demostrado), o -1 si la posición es inválida
+     */
+    public int solve(int startRow, int startCol) {
+        if (!isValidPosition(startRow, startCol)) {
+            System.out.println("Posición inicial inválida.");
+            return -1;
+        }
+
+        System.out.println("Ejecutando Branch & Bound sin revisitas (k=" + maxMoves + ")...");
+
+        SolverMetrics.Probe probe = SolverMetrics.ENABLED ? METRICS.begin(boardSize, startRow, startCol) : null;
+        int start = startRow * boardSize + startCol;
+        nodesExpanded.set(0);
+
+        // Incumbente inicial: cuanto mejor sea, más poda desde el primer nodo
+        seedWithBeamSearch(start);
+
+        if (maxMoves > 0) {
+            List<SubtreeTask> tasks = new ArrayList<>();
+            for (int next : neighbours[start]) {
+                tasks.add(new SubtreeTask(start, next));
+            }
+            ForkJoinPool.commonPool().invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    invokeAll(tasks);
+                }
+            });
+        }
+
+        if (probe != null) {
+            probe.end(true, nodesExpanded.get(), 0);
+        }
+
+        System.out.println("✅ Máximo puntaje sin revisitas: " + bestScore.get() +
+                           " (" + nodesExpanded.get() + " nodos expandidos)");
+        return bestScore.get();
+    }
+
+    /**
+     * Camino óptimo de la última búsqueda como pares {fila, columna}
+     * @return camino vacío si todavía no se llamó a solve()
+     */
+    public synchronized int[][] getBestPath() {
+        if (bestPath == null) {
+            return new int[0][2];
+        }
+        int[][] path = new int[bestPath.length][2];
+        for (int i = 0; i < bestPath.length; i++) {
+            path[i][0] = bestPath[i] / boardSize;
+            path[i][1] = bestPath[i] % boardSize;
+        }
+        return path;
+    }
+
+    public long getNodesExpanded() {
+        return nodesExpanded.get();
+    }
+
+    /**
+     * Beam search: avanza nivel por nivel conservando los BEAM_WIDTH caminos
+     * parciales de mejor cota. No garantiza el óptimo, pero suele dejar una
+     * incumbente muy cercana y acelera la poda del Branch & Bound.
+     */
+    private void seedWithBeamSearch(int start) {
+        int[][] paths = {{start}};
+        long[][] masks = {new long[maskWords]};
+        int[] sums = {scores[start]};
+        setVisited(masks[0], start);
+
+        synchronized (this) {
+            bestScore.set(sums[0]);
+            bestPath = paths[0];
+        }
+
+        boolean[] used = new boolean[maxMoves + 1];
+        for (int move = 1; move <= maxMoves && paths.length > 0; move++) {
+            int remaining = maxMoves - move;
+
+            // Generar todos los hijos con su prioridad (puntaje + cota del resto)
+            int capacity = paths.length * KnightMoves.COUNT;
+            int[] parentOf = new int[capacity];
+            int[] cellOf = new int[capacity];
+            long[] keys = new long[capacity];
+            int count = 0;
+            for (int p = 0; p < paths.length; p++) {
+                int current = paths[p][move - 1];
+                for (int next : neighbours[current]) {
+                    if (isVisited(masks[p], next)) {
+                        continue;
+                    }
+                    setVisited(masks[p], next);
+                    int priority = sums[p] + scores[next] +
+                                   bestStepAssignment(masks[p], used, next, remaining);
+                    clearVisited(masks[p], next);
+
+                    parentOf[count] = p;
+                    cellOf[count] = next;
+                    // Orden descendente por prioridad: clave = -prioridad, índice
+                    keys[count] = ((long) -priority << 32) | count;
+                    count++;
+                }
+            }
+
+            java.util.Arrays.sort(keys, 0, count);
+            int kept = Math.min(count, BEAM_WIDTH);
+            int[][] nextPaths = new int[kept][];
+            long[][] nextMasks = new long[kept][];
+            int[] nextSums = new int[kept];
+            for (int i = 0; i < kept; i++) {
+                int child = (int) keys[i];
+                int p = parentOf[child];
+                nextPaths[i] = java.util.Arrays.copyOf(paths[p], move + 1);
+                nextPaths[i][move] = cellOf[child];
+                nextMasks[i] = masks[p].clone();
+                setVisited(nextMasks[i], cellOf[child]);
+                nextSums[i] = sums[p] + scores[cellOf[child]];
+                offer(nextPaths[i], move + 1, nextSums[i]);
+            }
+
+            paths = nextPaths;
+            masks = nextMasks;
+            sums = nextSums;
+        }
+    }
+
+    /**
+     * Registra un camino si mejora la incumbente
+     */
+    private synchronized void offer(int[] path, int length, int sum) {
+        if (sum > bestScore.get()) {
+            bestScore.set(sum);
+            bestPath = java.util.Arrays.copyOf(path, length);
+            if (SolverMetrics.ENABLED) {
+                METRICS.milestone("incumbente", sum);
+            }
+        }
+    }
+
+    /**
+     * Cota por asignación de casillas a pasos
+     * 
+     * En el paso j (1..remaining) el caballo está en una casilla a distancia
+     * de caballo d <= j desde 'cell', y con la misma paridad que j (el
+     * caballo alterna colores). Cada casilla no visitada puede ocupar
+     * entonces cualquier paso libre j >= d con j ≡ d (mod 2), y cada paso
+     * aloja a lo sumo una casilla.
+     * 
+     * Sin tabla exacta, d se reemplaza por una cota inferior de la distancia
+     * (ver knightDistanceLowerBound) con la misma paridad: cada casilla admite
+     * más pasos, así que la cota sigue siendo admisible, solo más floja.
+     * 
+     * Como los pasos admitidos por cada casilla forman un sufijo, tomar las
+     * casillas de mayor puntaje primero y darle a cada una el primer paso
+     * libre compatible es la asignación óptima de este relajamiento (que
+     * ignora si las casillas elegidas están conectadas entre sí).
+     * 
+     * @param visited máscara de visitadas (incluye 'cell')
+     * @param used buffer de trabajo de tamaño >= remaining + 1
+     * @return puntaje máximo adicional a 'cell' con 'remaining' movimientos
+     */
+    private int bestStepAssignment(long[] visited, boolean[] used, int cell, int remaining) {
+        java.util.Arrays.fill(used, 1, remaining + 1, false);
+        int[] reach = distance != null ? distance[cell] : null;
+        int row = cell / boardSize;
+        int col = cell % boardSize;
+        int reach2 = 2 * remaining;
+        int free = remaining;
+        int total = 0;
+
+        for (int i = 0; i < cellsByScore.length && free > 0; i++) {
+            int candidate = cellsByScore[i];
+            int step;
+            if (reach != null) {
+                step = reach[candidate];
+            } else {
+                int dr = rowsByScore[i] - row;
+                int dc = colsByScore[i] - col;
+                // Más de 2 por salto en algún eje: fuera de alcance sin más cálculo
+                if (dr > reach2 || dr < -reach2 || dc > reach2 || dc < -reach2) {
+                    continue;
+                }
+                step = knightDistanceLowerBound(dr, dc);
+            }
+            if (step > remaining || isVisited(visited, candidate)) {
+                continue;
+            }
+            while (step <= remaining && used[step]) {
+                step += 2;
+            }
+            if (step <= remaining) {
+                used[step] = true;
+                total += scores[candidate];
+                free--;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Subárbol de búsqueda que empieza con el movimiento start -> first
+     * Cada tarea tiene su propia máscara de visitadas y su propio camino
+     */
+    private class SubtreeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int start;
+        private final int first;
+        private final long[] visited = new long[maskWords];
+        private final int[] path = new int[maxMoves + 1];
+        private final boolean[] stepUsed = new boolean[maxMoves + 1];
+        private long localNodes;
+
+        SubtreeTask(int start, int first) {
+            this.start = start;
+            this.first = first;
+        }
+
+        @Override
+        protected void compute() {
+            setVisited(visited, start);
+            setVisited(visited, first);
+            path[0] = start;
+            path[1] = first;
+            search(first, 1, scores[start] + scores[first]);
+            nodesExpanded.addAndGet(localNodes);
+        }
+
+        /**
+         * @param cell casilla actual (ya marcada como visitada)
+         * @param depth movimientos realizados hasta ahora
+         * @param sum puntaje acumulado, incluida la casilla actual
+         */
+        private void search(int cell, int depth, int sum) {
+            localNodes++;
+            if (sum > bestScore.get()) {
+                offer(path, depth + 1, sum);
+            }
+
+            int remaining = maxMoves - depth;
+            if (remaining == 0) {
+                return;
+            }
+
+            // PODA: ni el mejor caso supera a la incumbente (cota DP primero: es O(1))
+            int best = bestScore.get();
+            if (sum - scores[cell] + bound[remaining][cell] <= best ||
+                sum + bestStepAssignment(visited, stepUsed, cell, remaining) <= best) {
+                return;
+            }
+
+            // Hijos no visitados ordenados por cota descendente (mejor primero)
+            int[] children = new int[KnightMoves.COUNT];
+            int[] childBounds = new int[KnightMoves.COUNT];
+            int count = 0;
+            for (int next : neighbours[cell]) {
+                if (!isVisited(visited, next)) {
+                    int childBound = sum + bound[remaining - 1][next];
+                    int i = count++;
+                    while (i > 0 && childBounds[i - 1] < childBound) {
+                        children[i] = children[i - 1];
+                        childBounds[i] = childBounds[i - 1];
+                        i--;
+                    }
+                    children[i] = next;
+                    childBounds[i] = childBound;
+                }
+            }
+
+            for (int i = 0; i < count; i++) {
+                if (childBounds[i] <= bestScore.get()) {
+                    break; // Los siguientes tienen cota aún menor
+                }
+                int next = children[i];
+                setVisited(visited, next);
+                path[depth + 1] = next;
+                search(next, depth + 1, sum + scores[next]);
+                clearVisited(visited, next);
+            }
+        }
+    }
+
+    // Helper methods ---------------------------------------------------
+
+    /**
+     * Distancias en saltos de caballo desde 'from' a todas las casillas (BFS)
+     * Las casillas inalcanzables quedan en Integer.MAX_VALUE
+     */
+    private int[] knightDistancesFrom(int from) {
+        int[] result = new int[neighbours.length];
+        java.util.Arrays.fill(result, Integer.MAX_VALUE);
+        int[] queue = new int[neighbours.length];
+        int head = 0;
+        int tail = 0;
+        result[from] = 0;
+        queue[tail++] = from;
+        while (head < tail) {
+            int cell = queue[head++];
+            for (int next : neighbours[cell]) {
+                if (result[next] == Integer.MAX_VALUE) {
+                    result[next] = result[cell] + 1;
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Cota inferior de los saltos de caballo para un desplazamiento (dr, dc):
+     * cada salto avanza a lo sumo 2 por eje y 3 sumando ejes, y el número de
+     * saltos tiene la paridad de dr + dc (el caballo alterna colores)
+     */
+    static int knightDistanceLowerBound(int dr, int dc) {
+        int absRow = Math.abs(dr);
+        int absCol = Math.abs(dc);
+        int bound = Math.max((Math.max(absRow, absCol) + 1) / 2, (absRow + absCol + 2) / 3);
+        if (((bound ^ (absRow + absCol)) & 1) != 0) {
+            bound++;
+        }
+        return bound;
+    }
+
+    private static boolean isVisited(long[] visited, int cell) {
+        return (visited[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    private static void setVisited(long[] visited, int cell) {
+        visited[cell >>> 6] |= 1L << cell;
+    }
+
+    private static void clearVisited(long[] visited, int cell) {
+        visited[cell >>> 6] &= ~(1L << cell);
+    }
+
+    /**
+     * Verifica si una posición está dentro de los límites del tablero
+     */
+    private boolean isValidPosition(int row, int col) {
+        return KnightMoves.isValidPosition(boardSize, row, col);
+    }
+
+}
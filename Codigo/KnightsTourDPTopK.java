@@ -0,0 +1,272 @@
+/**
+ * Los K mejores caminos de k movimientos (con revisitas) desde cada casilla
+ *
+ * Extiende la recurrencia de KnightsTourDP: en lugar de guardar un único
+ * máximo por estado (casilla, movimientos restantes), cada estado guarda la
+ * lista ordenada de sus K mejores valores junto con la decisión que produjo
+ * cada uno. La lista de un estado se arma fusionando (merge) hasta 9 listas
+ * ya ordenadas: "detenerse aquí" y "saltar al vecino v" para cada vecino,
+ * usando un heap primitivo de tamaño <= 9.
+ *
+ * Memoria y tiempo: O(n² × k × K) enteros y O(n² × k × K × log 9)
+ * operaciones; lineal en K, sin correr K veces la DP.
+ *
+ * Cada entrada de una lista corresponde a una secuencia de casillas
+ * distinta, así que los K caminos reconstruidos son distintos entre sí.
+ */
+public class KnightsTourDPTopK {
+
+    // Decisión "detenerse": el camino termina en esta casilla
+    private static final int STOP = 0;
+
+    // Bits reservados en 'choice' para el índice de movimiento (0 = STOP, 1..8 = KnightMoves.MOVES)
+    private static final int MOVE_BITS = 4;
+
+    private final int boardSize;
+    private final int maxMoves;
+    private final int topK;
+
+    // Puntajes en layout plano
+    private final int[] scores;
+
+    // values[state * topK + r] = r-ésimo mejor valor del estado (m, cell); state = m * n² + cell
+    private final int[] values;
+
+    // choices[state * topK + r] = movimiento (4 bits bajos) y rango en la lista del vecino
+    private final int[] choices;
+
+    // counts[state] = entradas válidas de la lista (puede haber menos de K caminos)
+    private final int[] counts;
+
+    /**
+     * Construye las listas top-K para todas las casillas y 0..k movimientos
+     * @param scores matriz de puntajes (n x n); se copia
+     * @param k número de movimientos
+     * @param topK cantidad de caminos alternativos a conservar (K >= 1)
+     * @throws IllegalArgumentException si el tablero está vacío o no es cuadrado, o k / K son inválidos
+     */
+    public KnightsTourDPTopK(int[][] scores, int k, int topK) {
+        if (scores == null || scores.length == 0) {
+            throw new IllegalArgumentException("El tablero de puntajes no puede estar vacío");
+        }
+        if (k < 0) {
+            throw new IllegalArgumentException("El número de movimientos no puede ser negativo");
+        }
+        if (topK < 1) {
+            throw new IllegalArgumentException("K debe ser al menos 1");
+        }
+
+        this.boardSize = scores.length;
+        this.maxMoves = k;
+        this.topK = topK;
+        this.scores = new int[boardSize * boardSize];
+        for (int row = 0; row < boardSize; row++) {
+            if (scores[row].length != boardSize) {
+                throw new IllegalArgumentException("El tablero de puntajes debe ser cuadrado");
+            }
+            System.arraycopy(scores[row], 0, this.scores, row * boardSize, boardSize);
+        }
+
+        int states = (maxMoves + 1) * boardSize * boardSize;
+        this.values = new int[states * topK];
+        this.choices = new int[states * topK];
+        this.counts = new int[states];
+
+        buildLists();
+    }
+
+    /**
+     * Llena las listas capa por capa (bottom-up), fusionando con un heap de máximos
+     */
+    private void buildLists() {
+        int cells = boardSize * boardSize;
+
+        // Caso base: 0 movimientos = un único camino, quedarse en la casilla
+        for (int cell = 0; cell < cells; cell++) {
+            values[cell * topK] = scores[cell];
+            choices[cell * topK] = STOP;
+            counts[cell] = 1;
+        }
+
+        // Heap primitivo: valor, movimiento (0 = STOP) y rango en la lista fuente
+        int sources = KnightMoves.COUNT + 1;
+        int[] heapValue = new int[sources];
+        int[] heapMove = new int[sources];
+        int[] heapRank = new int[sources];
+        int[] neighbourStates = new int[KnightMoves.COUNT];
+
+        for (int move = 1; move <= maxMoves; move++) {
+            for (int cell = 0; cell < cells; cell++) {
+                int row = cell / boardSize;
+                int col = cell % boardSize;
+                int state = move * cells + cell;
+
+                // Cabezas de cada lista fuente
+                int size = 0;
+                heapValue[size] = scores[cell];
+                heapMove[size] = STOP;
+                heapRank[size] = 0;
+                size = siftUp(heapValue, heapMove, heapRank, size);
+                for (int i = 0; i < KnightMoves.COUNT; i++) {
+                    int nextRow = row + KnightMoves.MOVES[i][0];
+                    int nextCol = col + KnightMoves.MOVES[i][1];
+                    if (isValidPosition(nextRow, nextCol)) {
+                        neighbourStates[i] = (move - 1) * cells + nextRow * boardSize + nextCol;
+                        heapValue[size] = scores[cell] + values[neighbourStates[i] * topK];
+                        heapMove[size] = i + 1;
+                        heapRank[size] = 0;
+                        size = siftUp(heapValue, heapMove, heapRank, size);
+                    }
+                }
+
+                // Extraer los K mayores; cada extracción repone el siguiente de su lista
+                int produced = 0;
+                while (produced < topK && size > 0) {
+                    int slot = state * topK + produced;
+                    values[slot] = heapValue[0];
+                    choices[slot] = heapMove[0] | (heapRank[0] << MOVE_BITS);
+                    produced++;
+
+                    int movedIndex = heapMove[0] - 1;
+                    int nextRank = heapRank[0] + 1;
+                    if (movedIndex >= 0 && nextRank < counts[neighbourStates[movedIndex]]) {
+                        // Reemplazar la raíz por el siguiente elemento de la misma lista
+                        heapValue[0] = scores[cell] + values[neighbourStates[movedIndex] * topK + nextRank];
+                        heapRank[0] = nextRank;
+                    } else {
+                        // Lista agotada (o STOP, que tiene un solo elemento): quitar la raíz
+                        size--;
+                        heapValue[0] = heapValue[size];
+                        heapMove[0] = heapMove[size];
+                        heapRank[0] = heapRank[size];
+                    }
+                    siftDown(heapValue, heapMove, heapRank, size);
+                }
+                counts[state] = produced;
+            }
+        }
+    }
+
+    /**
+     * Los mejores puntajes desde (row, col) con k movimientos, de mayor a menor
+     * @return hasta K puntajes, o array vacío si la posición es inválida
+     */
+    public int[] getTopScores(int row, int col) {
+        if (!isValidPosition(row, col)) {
+            return new int[0];
+        }
+        int state = maxMoves * boardSize * boardSize + row * boardSize + col;
+        int[] result = new int[counts[state]];
+        System.arraycopy(values, state * topK, result, 0, result.length);
+        return result;
+    }
+
+    /**
+     * Reconstruye el camino de rango 'rank' (0 = el mejor) desde (row, col)
+     * @return casillas del camino como pares {fila, columna}, empezando en (row, col)
+     * @throws IllegalArgumentException si la posición o el rango no existen
+     */
+    public int[][] getPath(int row, int col, int rank) {
+        int cells = boardSize * boardSize;
+        if (!isValidPosition(row, col)) {
+            throw new IllegalArgumentException("Posición inválida: (" + row + ", " + col + ")");
+        }
+        int state = maxMoves * cells + row * boardSize + col;
+        if (rank < 0 || rank >= counts[state]) {
+            throw new IllegalArgumentException("Rango inexistente: " + rank);
+        }
+
+        int[][] buffer = new int[maxMoves + 1][];
+        int length = 0;
+        int move = maxMoves;
+        while (true) {
+            buffer[length++] = new int[] {row, col};
+            int choice = choices[state * topK + rank];
+            int moveIndex = (choice & ((1 << MOVE_BITS) - 1)) - 1;
+            if (moveIndex < 0) {
+                break;
+            }
+            row += KnightMoves.MOVES[moveIndex][0];
+            col += KnightMoves.MOVES[moveIndex][1];
+            rank = choice >>> MOVE_BITS;
+            move--;
+            state = move * cells + row * boardSize + col;
+        }
+        return java.util.Arrays.copyOf(buffer, length);
+    }
+
+    /**
+     * Reconstruye los (hasta) K mejores caminos desde (row, col)
+     */
+    public int[][][] getTopPaths(int row, int col) {
+        int[] topScores = getTopScores(row, col);
+        int[][][] paths = new int[topScores.length][][];
+        for (int rank = 0; rank < topScores.length; rank++) {
+            paths[rank] = getPath(row, col, rank);
+        }
+        return paths;
+    }
+
+    public int getTopK() {
+        return topK;
+    }
+
+    // Helper methods ---------------------------------------------------
+
+    /**
+     * Inserta el elemento en la posición 'size' y lo sube; devuelve el nuevo tamaño
+     */
+    private static int siftUp(int[] value, int[] move, int[] rank, int size) {
+        int i = size;
+        while (i > 0) {
+            int parent = (i - 1) / 2;
+            if (value[parent] >= value[i]) {
+                break;
+            }
+            swap(value, move, rank, i, parent);
+            i = parent;
+        }
+        return size + 1;
+    }
+
+    /**
+     * Baja la raíz hasta restaurar la propiedad de heap de máximos
+     */
+    private static void siftDown(int[] value, int[] move, int[] rank, int size) {
+        int i = 0;
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) {
+                return;
+            }
+            int largest = left + 1 < size && value[left + 1] > value[left] ? left + 1 : left;
+            if (value[i] >= value[largest]) {
+                return;
+            }
+            swap(value, move, rank, i, largest);
+            i = largest;
+        }
+    }
+
+    private static void swap(int[] value, int[] move, int[] rank, int a, int b) {
+        int temp = value[a];
+        value[a] = value[b];
+        value[b] = temp;
+
+        temp = move[a];
+        move[a] = move[b];
+        move[b] = temp;
+
+        temp = rank[a];
+        rank[a] = rank[b];
+        rank[b] = temp;
+    }
+
+    /**
+     * Verifica si una posición está dentro de los límites del tablero
+     */
+    private boolean isValidPosition(int row, int col) {
+        return KnightMoves.isValidPosition(boardSize, row, col);
+    }
+
+}
@@ -0,0 +1,332 @@
+/**
+ * DP de máximo puntaje restringida a la región alcanzable desde el inicio
+ *
+ * solveMaximizeScoreITO llena las n² casillas en cada una de las k capas,
+ * pero la respuesta desde (fila, columna) solo depende de lo que el caballo
+ * alcanza en k saltos: un salto mueve a lo sumo 2 filas/columnas y 3 en
+ * total, así que la capa con j saltos ya dados solo necesita las casillas
+ * con distancia ≤ 2j por eje y ≤ 3j sumando ejes (un octágono, el "diamante"
+ * de alcance). En un tablero de 10000x10000 con k = 50 eso es una ventana
+ * de ~200x200 en lugar de 10^8 casillas por capa.
+ *
+ * - Memoria: dos planos rodantes de (4k + 5)² (con borde NEG_INF), nunca n²
+ * - La región se achica capa a capa: la última es solo la casilla inicial
+ * - Puntajes desde int[][] o MappedScoreBoard: solo se leen las casillas de
+ *   la ventana (del archivo mapeado no se toca el resto)
+ * - maximizeScores agrupa inicios cercanos: sus ventanas se funden en una
+ *   sola (la unión de las regiones) cuando eso calcula menos casillas que
+ *   resolverlos por separado
+ *
+ * Misma recurrencia que KnightsTourDP (se permite revisitar casillas y
+ * quedarse sin mover); los puntajes se leen en cada llamada, sin copiarlos.
+ *
+ * cancel() (desde otro hilo) corta el cálculo en curso entre capas; cada
+ * llamada limpia la bandera al empezar, así que un pedido tardío no afecta
+ * a la siguiente.
+ */
+public class KnightsTourDPWindow {
+
+    private static final int NEG_INF = DPLayerKernel.NEG_INF;
+
+    // Borde de la ventana: un salto sale a lo sumo 2 casillas
+    private static final int PADDING = 2;
+
+    private static final SolverMetrics METRICS = SolverMetrics.forSolver("DP-Ventana");
+
+    private final int boardSize;
+    private final int maxMoves;
+    private final int[][] scores;
+    private final MappedScoreBoard mappedScores;
+
+    // Casillas calculadas en la última llamada (todas las capas)
+    private long cellsComputed;
+
+    // Pedido de cancelación (puede llegar desde otro hilo)
+    private volatile boolean cancelled;
+
+    /**
+     * @param scores puntajes del tablero (cuadrado); se leen, no se copian
+     * @param k número de movimientos
+     */
+    public KnightsTourDPWindow(int[][] scores, int k) {
+        if (scores == null || scores.length == 0) {
+            throw new IllegalArgumentException("El tablero de puntajes no puede estar vacío");
+        }
+        for (int[] row : scores) {
+            if (row.length != scores.length) {
+                throw new IllegalArgumentException("El tablero de puntajes debe ser cuadrado");
+            }
+        }
+        if (k < 0) {
+            throw new IllegalArgumentException("El número de movimientos no puede ser negativo");
+        }
+
+        this.boardSize = scores.length;
+        this.maxMoves = k;
+        this.scores = scores;
+        this.mappedScores = null;
+    }
+
+    /**
+     * @param board puntajes mapeados desde archivo (ver MappedScoreBoard)
+     * @param k número de movimientos
+     */
+    public KnightsTourDPWindow(MappedScoreBoard board, int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("El número de movimientos no puede ser negativo");
+        }
+
+        this.boardSize = board.getBoardSize();
+        this.maxMoves = k;
+        this.scores = null;
+        this.mappedScores = board;
+    }
+
+    /**
+     * Máximo puntaje en k movimientos desde una casilla
+     * @return máximo puntaje, o -1 si la posición es inválida o se canceló
+     */
+    public int maximizeScore(int startRow, int startCol) {
+        cancelled = false;
+        if (!isValidPosition(startRow, startCol)) {
+            System.out.println("Posición inicial inválida.");
+            return -1;
+        }
+
+        SolverMetrics.Probe probe = SolverMetrics.ENABLED ? METRICS.begin(boardSize, startRow, startCol) : null;
+        cellsComputed = 0;
+        int[] result = {-1};
+        boolean finished = solveWindow(new int[] {startRow}, new int[] {startCol}, new int[] {0}, 1, result);
+        if (probe != null) {
+            probe.end(finished, 0, cellsComputed);
+        }
+        return result[0];
+    }
+
+    /**
+     * Máximo puntaje desde cada inicio (rows[i], cols[i])
+     *
+     * Los inicios se reparten en bloques de (2k + 1) x (2k + 1); dentro de cada
+     * bloque se usa una sola ventana para todos si eso cuesta menos casillas
+     * que una ventana por inicio.
+     *
+     * @return puntaje de cada inicio (-1 para posiciones inválidas o no
+     *         calculadas por una cancelación)
+     */
+    public int[] maximizeScores(int[] rows, int[] cols) {
+        cancelled = false;
+        if (rows.length != cols.length) {
+            throw new IllegalArgumentException("Filas y columnas deben tener la misma longitud");
+        }
+
+        SolverMetrics.Probe probe = SolverMetrics.ENABLED ? METRICS.begin(boardSize, -1, -1) : null;
+        cellsComputed = 0;
+        int[] results = new int[rows.length];
+        java.util.Arrays.fill(results, -1);
+
+        // Agrupar por bloque: clave = bloque de fila * bloques por lado + bloque de columna
+        long block = 2L * maxMoves + 1;
+        long blocksPerSide = (boardSize + block - 1) / block;
+        java.util.Map<Long, java.util.List<Integer>> groups = new java.util.HashMap<>();
+        for (int i = 0; i < rows.length; i++) {
+            if (isValidPosition(rows[i], cols[i])) {
+                long key = rows[i] / block * blocksPerSide + cols[i] / block;
+                groups.computeIfAbsent(key, unused -> new java.util.ArrayList<>()).add(i);
+            }
+        }
+
+        boolean finished = true;
+        for (java.util.List<Integer> group : groups.values()) {
+            if (!finished) {
+                break;
+            }
+            int count = group.size();
+            int[] members = new int[count];
+            int rowLo = Integer.MAX_VALUE, rowHi = -1, colLo = Integer.MAX_VALUE, colHi = -1;
+            for (int m = 0; m < count; m++) {
+                int i = group.get(m);
+                members[m] = i;
+                rowLo = Math.min(rowLo, rows[i]);
+                rowHi = Math.max(rowHi, rows[i]);
+                colLo = Math.min(colLo, cols[i]);
+                colHi = Math.max(colHi, cols[i]);
+            }
+
+            if (count > 1 && estimateCells(rowHi - rowLo + 1, colHi - colLo + 1) < count * estimateCells(1, 1)) {
+                finished = solveWindow(rows, cols, members, count, results);
+            } else {
+                for (int member : members) {
+                    if (!solveWindow(rows, cols, new int[] {member}, 1, results)) {
+                        finished = false;
+                        break;
+                    }
+                }
+            }
+        }
+
+        if (probe != null) {
+            probe.end(finished, 0, cellsComputed);
+        }
+        return results;
+    }
+
+    /**
+     * Pide cortar el cálculo en curso (se revisa entre capas)
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * @return casillas calculadas en la última llamada (para comparar con n²·k)
+     */
+    public long getCellsComputed() {
+        return cellsComputed;
+    }
+
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    public int getMaxMoves() {
+        return maxMoves;
+    }
+
+    /**
+     * Bytes de trabajo de maximizeScore en un tablero n x n con k movimientos:
+     * puntajes y dos planos de la ventana, de lado min(n, 4k + 1) + 2·PADDING
+     * (permite reservar memoria antes de crear el solver)
+     */
+    public static long windowBytes(int boardSize, int k) {
+        long side = Math.min(boardSize, 4L * k + 1) + 2 * PADDING;
+        return 3 * side * side * Integer.BYTES;
+    }
+
+    // Cálculo por ventana ------------------------------------------------
+
+    /**
+     * Resuelve juntos los inicios members[0..count) con una ventana que cubre
+     * la unión de sus regiones alcanzables; escribe results[member]
+     * @return false si se canceló (results queda sin tocar)
+     */
+    private boolean solveWindow(int[] rows, int[] cols, int[] members, int count, int[] results) {
+        int rowLo = Integer.MAX_VALUE, rowHi = -1, colLo = Integer.MAX_VALUE, colHi = -1;
+        for (int m = 0; m < count; m++) {
+            rowLo = Math.min(rowLo, rows[members[m]]);
+            rowHi = Math.max(rowHi, rows[members[m]]);
+            colLo = Math.min(colLo, cols[members[m]]);
+            colHi = Math.max(colHi, cols[members[m]]);
+        }
+
+        // Ventana = región de la capa base (j = k), recortada al tablero, más el borde
+        int reach = 2 * maxMoves;
+        int firstRow = Math.max(0, rowLo - reach);
+        int lastRow = Math.min(boardSize - 1, rowHi + reach);
+        int firstCol = Math.max(0, colLo - reach);
+        int lastCol = Math.min(boardSize - 1, colHi + reach);
+        int width = lastCol - firstCol + 1 + 2 * PADDING;
+        int height = lastRow - firstRow + 1 + 2 * PADDING;
+
+        int[] offsets = KnightMoves.offsets(width);
+
+        // Puntajes de la ventana; el borde (fuera del tablero) nunca se lee como puntaje
+        int[] windowScores = new int[width * height];
+        for (int row = firstRow; row <= lastRow; row++) {
+            int base = (row - firstRow + PADDING) * width + PADDING - firstCol;
+            for (int col = firstCol; col <= lastCol; col++) {
+                windowScores[base + col] = scoreAt(row, col);
+            }
+        }
+
+        // Planos rodantes: el borde queda en NEG_INF para siempre, así que un
+        // vecino fuera del tablero nunca gana el max
+        int[] previous = new int[width * height];
+        int[] current = new int[width * height];
+        java.util.Arrays.fill(previous, NEG_INF);
+        java.util.Arrays.fill(current, NEG_INF);
+
+        // Capa base: 0 movimientos restantes en toda la región j = k
+        for (int row = regionFirstRow(rowLo, maxMoves, firstRow); row <= regionLastRow(rowHi, maxMoves, lastRow); row++) {
+            int extent = colExtent(row, rowLo, rowHi, maxMoves);
+            int base = (row - firstRow + PADDING) * width + PADDING - firstCol;
+            int from = Math.max(firstCol, colLo - extent);
+            int to = Math.min(lastCol, colHi + extent);
+            System.arraycopy(windowScores, base + from, previous, base + from, to - from + 1);
+            cellsComputed += to - from + 1;
+        }
+
+        // Capa 'move' (movimientos restantes) vive en la región j = maxMoves - move:
+        // sus vecinos están todos en la región j + 1 de la capa anterior
+        for (int move = 1; move <= maxMoves; move++) {
+            if (cancelled) {
+                return false;
+            }
+            int j = maxMoves - move;
+            for (int row = regionFirstRow(rowLo, j, firstRow); row <= regionLastRow(rowHi, j, lastRow); row++) {
+                int extent = colExtent(row, rowLo, rowHi, j);
+                int base = (row - firstRow + PADDING) * width + PADDING - firstCol;
+                int from = base + Math.max(firstCol, colLo - extent);
+                int to = base + Math.min(lastCol, colHi + extent);
+
+                for (int cell = from; cell <= to; cell++) {
+                    current[cell] = windowScores[cell] + KnightMoves.bestOf(previous, cell, offsets);
+                }
+                cellsComputed += to - from + 1;
+            }
+
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+
+        for (int m = 0; m < count; m++) {
+            int member = members[m];
+            results[member] = previous[(rows[member] - firstRow + PADDING) * width
+                                       + cols[member] - firstCol + PADDING];
+        }
+        return true;
+    }
+
+    /**
+     * Primera fila de la región con j saltos dados (distancia ≤ 2j a las filas de inicio)
+     */
+    private static int regionFirstRow(int rowLo, int j, int firstRow) {
+        return Math.max(firstRow, rowLo - 2 * j);
+    }
+
+    private static int regionLastRow(int rowHi, int j, int lastRow) {
+        return Math.min(lastRow, rowHi + 2 * j);
+    }
+
+    /**
+     * Cuántas columnas a cada lado del rango de inicio entran en la fila dada:
+     * ≤ 2j por eje y ≤ 3j sumando la distancia en filas
+     */
+    private static int colExtent(int row, int rowLo, int rowHi, int j) {
+        int rowDistance = row < rowLo ? rowLo - row : row > rowHi ? row - rowHi : 0;
+        return Math.min(2 * j, 3 * j - rowDistance);
+    }
+
+    /**
+     * Casillas aproximadas de una ventana para inicios en un rectángulo alto x ancho
+     * (sin recortar al tablero ni al octágono): sirve para decidir agrupamientos
+     */
+    private long estimateCells(int height, int width) {
+        long total = 0;
+        for (int j = 0; j <= maxMoves; j++) {
+            total += (long) (height + 4 * j) * (width + 4 * j);
+        }
+        return total;
+    }
+
+    // Helper methods ---------------------------------------------------
+
+    private int scoreAt(int row, int col) {
+        return mappedScores != null ? mappedScores.getScore(row, col) : scores[row][col];
+    }
+
+    private boolean isValidPosition(int row, int col) {
+        return KnightMoves.isValidPosition(boardSize, row, col);
+    }
+
+}
@@ -0,0 +1,514 @@
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Enumeración de TODOS los recorridos, dividida en unidades y con checkpoints
+ *
+ * KnightsTour.findAllSolutions guarda todo el estado en la pila de recursión:
+ * si la JVM muere se pierde la corrida entera. Acá el árbol se corta en las
+ * ramas de profundidad fija (prefijos de 'profundidad' movimientos) y cada
+ * rama es una unidad de trabajo independiente en una cola de archivos:
+ *
+ *   dir/trabajo.properties    n, fila, columna, profundidad, unidades
+ *   dir/pending/<prefijo>     unidades sin tomar
+ *   dir/claimed/<prefijo>@<trabajador>   unidades en curso (lease)
+ *   dir/done/<prefijo>        "soluciones nodos" de cada unidad terminada
+ *
+ * - Tomar una unidad = Files.move atómico de pending a claimed; si dos
+ *   procesos compiten, solo uno gana el rename
+ * - El trabajador renueva su lease tocando el archivo cada HEARTBEAT_MILLIS;
+ *   una unidad con lease vencido (proceso caído) vuelve a pending
+ * - El resultado se escribe en un temporal y se renombra a done/: una unidad
+ *   repetida escribe el mismo archivo, así que nunca se cuenta dos veces
+ *
+ * Varios procesos (en una o varias máquinas con el directorio compartido)
+ * pueden trabajar a la vez; reiniciar un trabajador retoma donde quedó.
+ *
+ * El prefijo se nombra con los índices de KNIGHT_MOVES de cada salto
+ * (por ejemplo "0362"), en el mismo orden que explora findAllSolutions.
+ *
+ * Uso:
+ *   java KnightsTourEnumeration iniciar  <dir> n fila columna [profundidad]
+ *   java KnightsTourEnumeration trabajar <dir> [idTrabajador]
+ *   java KnightsTourEnumeration estado   <dir>
+ */
+public class KnightsTourEnumeration {
+
+    private static final int UNVISITED = -1;
+
+    private static final int DEFAULT_DEPTH = 6;
+
+    // Lease de una unidad tomada y cada cuánto se renueva
+    private static final long LEASE_MILLIS = 5 * 60 * 1000L;
+    private static final long HEARTBEAT_MILLIS = 30 * 1000L;
+
+    // Cada cuántos nodos se mira el reloj para renovar el lease
+    private static final long HEARTBEAT_CHECK_NODES = 1L << 20;
+
+    private static final String JOB_FILE = "trabajo.properties";
+
+    // Todos los posibles movimientos del caballo (mismo orden que KnightsTour)
+    private static final int[][] KNIGHT_MOVES = {
+        {2, 1}, {1, 2}, {-1, 2}, {-2, 1},
+        {-2, -1}, {-1, -2}, {1, -2}, {2, -1}
+    };
+
+    private final Path pending;
+    private final Path claimed;
+    private final Path done;
+    private final String workerId;
+
+    private final int boardSize;
+    private final int startRow;
+    private final int startCol;
+
+    // Estado de la unidad en curso
+    private final int[][] board;
+    private long solutions;
+    private long nodes;
+    private Path lease;
+    private long lastHeartbeat;
+
+    /**
+     * Abre un trabajo existente como trabajador
+     * @param dir directorio creado con initialize
+     * @param workerId identificador único del proceso (se usa en los nombres de lease)
+     * @throws IOException si no se puede leer el trabajo
+     */
+    public KnightsTourEnumeration(Path dir, String workerId) throws IOException {
+        if (workerId.contains("@") || workerId.contains("/")) {
+            throw new IllegalArgumentException("El id de trabajador no puede contener '@' ni '/'");
+        }
+
+        Properties job = readJob(dir);
+        this.boardSize = Integer.parseInt(job.getProperty("n"));
+        this.startRow = Integer.parseInt(job.getProperty("fila"));
+        this.startCol = Integer.parseInt(job.getProperty("columna"));
+        this.pending = dir.resolve("pending");
+        this.claimed = dir.resolve("claimed");
+        this.done = dir.resolve("done");
+        this.workerId = workerId;
+        this.board = new int[boardSize][boardSize];
+    }
+
+    /**
+     * Crea el trabajo y sus unidades (todas las ramas de 'depth' movimientos)
+     * Si el directorio ya tiene el mismo trabajo no hace nada: así se reanuda
+     *
+     * @return cantidad de unidades del trabajo
+     * @throws IllegalArgumentException si los parámetros son inválidos o el
+     *         directorio tiene otro trabajo
+     */
+    public static int initialize(Path dir, int n, int row, int col, int depth) throws IOException {
+        if (n < 3) {
+            throw new IllegalArgumentException("El tablero debe ser de al menos 3x3");
+        }
+        if (row < 0 || row >= n || col < 0 || col >= n) {
+            throw new IllegalArgumentException("Posición inicial inválida");
+        }
+        if (depth < 1) {
+            throw new IllegalArgumentException("La profundidad debe ser al menos 1");
+        }
+        depth = Math.min(depth, n * n - 1);
+
+        Path jobFile = dir.resolve(JOB_FILE);
+        if (Files.exists(jobFile)) {
+            Properties job = readJob(dir);
+            if (Integer.parseInt(job.getProperty("n")) != n ||
+                Integer.parseInt(job.getProperty("fila")) != row ||
+                Integer.parseInt(job.getProperty("columna")) != col ||
+                Integer.parseInt(job.getProperty("profundidad")) != depth) {
+                throw new IllegalArgumentException("El directorio ya contiene otro trabajo: " + job);
+            }
+            return Integer.parseInt(job.getProperty("unidades"));
+        }
+
+        Path pending = Files.createDirectories(dir.resolve("pending"));
+        Files.createDirectories(dir.resolve("claimed"));
+        Files.createDirectories(dir.resolve("done"));
+
+        // Generar los prefijos con la misma exploración que findAllSolutions
+        List<String> prefixes = new ArrayList<>();
+        int[][] board = new int[n][n];
+        for (int[] rowCells : board) {
+            java.util.Arrays.fill(rowCells, UNVISITED);
+        }
+        board[row][col] = 0;
+        collectPrefixes(board, n, row, col, 1, depth, new StringBuilder(), prefixes);
+
+        for (String prefix : prefixes) {
+            try {
+                Files.createFile(pending.resolve(prefix));
+            } catch (FileAlreadyExistsException e) {
+                // Reanudación de una inicialización interrumpida
+            }
+        }
+
+        // El archivo del trabajo se escribe al final: su presencia indica que
+        // todas las unidades ya están en la cola
+        Properties job = new Properties();
+        job.setProperty("n", Integer.toString(n));
+        job.setProperty("fila", Integer.toString(row));
+        job.setProperty("columna", Integer.toString(col));
+        job.setProperty("profundidad", Integer.toString(depth));
+        job.setProperty("unidades", Integer.toString(prefixes.size()));
+        Path temporary = dir.resolve(JOB_FILE + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+            job.store(writer, "Enumeración de recorridos del caballo");
+        }
+        moveAtomically(temporary, jobFile);
+
+        return prefixes.size();
+    }
+
+    /**
+     * Procesa unidades hasta que no quede ninguna disponible
+     * (pendiente o con lease vencido)
+     * @return unidades procesadas por este trabajador
+     */
+    public int work() throws IOException {
+        int processed = 0;
+        String unit;
+        while ((unit = claimNext()) != null) {
+            long[] result = countUnit(unit);
+            complete(unit, result[0], result[1]);
+            processed++;
+        }
+        return processed;
+    }
+
+    /**
+     * Resumen del avance de un trabajo
+     */
+    public static class Progress {
+        private final int units;
+        private final int pendingUnits;
+        private final int claimedUnits;
+        private final int doneUnits;
+        private final long solutions;
+        private final long nodes;
+
+        Progress(int units, int pendingUnits, int claimedUnits, int doneUnits, long solutions, long nodes) {
+            this.units = units;
+            this.pendingUnits = pendingUnits;
+            this.claimedUnits = claimedUnits;
+            this.doneUnits = doneUnits;
+            this.solutions = solutions;
+            this.nodes = nodes;
+        }
+
+        public boolean isComplete() {
+            return doneUnits == units;
+        }
+
+        /**
+         * @return soluciones de las unidades terminadas (el total si isComplete())
+         */
+        public long getSolutions() {
+            return solutions;
+        }
+
+        public long getNodes() {
+            return nodes;
+        }
+
+        public int getDoneUnits() {
+            return doneUnits;
+        }
+
+        public int getUnits() {
+            return units;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d/%d unidades terminadas (%d pendientes, %d en curso) | " +
+                                 "%d soluciones, %d nodos%s",
+                                 doneUnits, units, pendingUnits, claimedUnits, solutions, nodes,
+                                 isComplete() ? " | COMPLETO" : "");
+        }
+    }
+
+    /**
+     * Lee el avance desde el directorio (no necesita ser trabajador)
+     */
+    public static Progress progress(Path dir) throws IOException {
+        Properties job = readJob(dir);
+        int units = Integer.parseInt(job.getProperty("unidades"));
+
+        long solutions = 0;
+        long nodes = 0;
+        int doneUnits = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir.resolve("done"))) {
+            for (Path file : files) {
+                if (file.getFileName().toString().endsWith(".tmp")) {
+                    continue;
+                }
+                String[] fields = new String(Files.readAllBytes(file), StandardCharsets.UTF_8).trim().split(" ");
+                solutions += Long.parseLong(fields[0]);
+                nodes += Long.parseLong(fields[1]);
+                doneUnits++;
+            }
+        }
+
+        return new Progress(units, countFiles(dir.resolve("pending")), countFiles(dir.resolve("claimed")),
+                            doneUnits, solutions, nodes);
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Uso:");
+            System.out.println("  java KnightsTourEnumeration iniciar  <dir> n fila columna [profundidad]");
+            System.out.println("  java KnightsTourEnumeration trabajar <dir> [idTrabajador]");
+            System.out.println("  java KnightsTourEnumeration estado   <dir>");
+            return;
+        }
+
+        Path dir = Paths.get(args[1]);
+        switch (args[0].toLowerCase()) {
+            case "iniciar":
+                if (args.length < 5) {
+                    System.out.println("Faltan parámetros: iniciar <dir> n fila columna [profundidad]");
+                    return;
+                }
+                int units = initialize(dir, Integer.parseInt(args[2]), Integer.parseInt(args[3]),
+                                       Integer.parseInt(args[4]),
+                                       args.length > 5 ? Integer.parseInt(args[5]) : DEFAULT_DEPTH);
+                System.out.println("Trabajo listo en " + dir + ": " + units + " unidades");
+                break;
+            case "trabajar":
+                String workerId = args.length > 2 ? args[2] : defaultWorkerId();
+                KnightsTourEnumeration worker = new KnightsTourEnumeration(dir, workerId);
+                long start = System.nanoTime();
+                int processed = worker.work();
+                System.out.printf("Trabajador %s: %d unidades en %.1f s%n",
+                                  workerId, processed, (System.nanoTime() - start) / 1e9);
+                System.out.println(progress(dir));
+                break;
+            case "estado":
+                System.out.println(progress(dir));
+                break;
+            default:
+                System.out.println("Opción no válida. Opciones: iniciar, trabajar, estado");
+        }
+    }
+
+    // Cola de archivos ---------------------------------------------------
+
+    /**
+     * Toma la próxima unidad pendiente; si no hay, recupera una con lease vencido
+     * @return prefijo de la unidad tomada, o null si no hay trabajo disponible
+     */
+    private String claimNext() throws IOException {
+        for (int attempt = 0; attempt < 2; attempt++) {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(pending)) {
+                for (Path file : files) {
+                    String unit = file.getFileName().toString();
+                    Path target = claimed.resolve(unit + "@" + workerId);
+                    try {
+                        moveAtomically(file, target);
+                    } catch (NoSuchFileException e) {
+                        continue; // otro proceso la tomó primero
+                    }
+                    lease = target;
+                    renewLease();
+                    return unit;
+                }
+            }
+
+            // Sin pendientes: devolver a la cola las unidades de procesos caídos
+            if (!requeueExpired()) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Mueve a pending las unidades tomadas cuyo lease venció
+     * @return true si se recuperó alguna
+     */
+    private boolean requeueExpired() throws IOException {
+        boolean requeued = false;
+        long now = System.currentTimeMillis();
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(claimed)) {
+            for (Path file : files) {
+                try {
+                    if (now - Files.getLastModifiedTime(file).toMillis() < LEASE_MILLIS) {
+                        continue;
+                    }
+                    String name = file.getFileName().toString();
+                    String unit = name.substring(0, name.lastIndexOf('@'));
+                    if (Files.exists(done.resolve(unit))) {
+                        Files.deleteIfExists(file); // terminó pero no llegó a borrar su lease
+                        continue;
+                    }
+                    moveAtomically(file, pending.resolve(unit));
+                    requeued = true;
+                } catch (NoSuchFileException e) {
+                    // Otro proceso ya la recuperó o la terminó
+                }
+            }
+        }
+        return requeued;
+    }
+
+    /**
+     * Publica el resultado de una unidad y libera su lease
+     */
+    private void complete(String unit, long unitSolutions, long unitNodes) throws IOException {
+        Path temporary = done.resolve(unit + "@" + workerId + ".tmp");
+        Files.write(temporary, (unitSolutions + " " + unitNodes + "\n").getBytes(StandardCharsets.UTF_8));
+        moveAtomically(temporary, done.resolve(unit));
+        Files.deleteIfExists(lease);
+        lease = null;
+    }
+
+    /**
+     * Renueva el lease de la unidad en curso; si otro proceso lo recuperó, se sigue
+     * igual (el resultado es idempotente)
+     */
+    private void renewLease() throws IOException {
+        lastHeartbeat = System.currentTimeMillis();
+        try {
+            Files.setLastModifiedTime(lease, FileTime.fromMillis(lastHeartbeat));
+        } catch (NoSuchFileException e) {
+            // Lease recuperado por otro proceso
+        }
+    }
+
+    // Búsqueda -----------------------------------------------------------
+
+    /**
+     * Cuenta los recorridos completos que empiezan con el prefijo dado
+     * @return {soluciones, nodos expandidos}
+     */
+    private long[] countUnit(String prefix) throws IOException {
+        for (int[] rowCells : board) {
+            java.util.Arrays.fill(rowCells, UNVISITED);
+        }
+
+        int row = startRow;
+        int col = startCol;
+        board[row][col] = 0;
+        for (int i = 0; i < prefix.length(); i++) {
+            int[] move = KNIGHT_MOVES[prefix.charAt(i) - '0'];
+            row += move[0];
+            col += move[1];
+            board[row][col] = i + 1;
+        }
+
+        solutions = 0;
+        nodes = 0;
+        countRecursive(row, col, prefix.length() + 1);
+        return new long[] {solutions, nodes};
+    }
+
+    /**
+     * Mismo recorrido que KnightsTour.solveRecursiveAll, sin imprimir y
+     * renovando el lease cada HEARTBEAT_CHECK_NODES nodos
+     */
+    private void countRecursive(int currentRow, int currentCol, int moveNumber) throws IOException {
+        if (moveNumber == boardSize * boardSize) {
+            solutions++;
+            return;
+        }
+
+        if ((++nodes & (HEARTBEAT_CHECK_NODES - 1)) == 0 &&
+            System.currentTimeMillis() - lastHeartbeat >= HEARTBEAT_MILLIS) {
+            renewLease();
+        }
+
+        for (int[] move : KNIGHT_MOVES) {
+            int nextRow = currentRow + move[0];
+            int nextCol = currentCol + move[1];
+
+            if (isValidMove(board, boardSize, nextRow, nextCol)) {
+                board[nextRow][nextCol] = moveNumber;
+                countRecursive(nextRow, nextCol, moveNumber + 1);
+                board[nextRow][nextCol] = UNVISITED;
+            }
+        }
+    }
+
+    /**
+     * Agrega a 'prefixes' todas las ramas de exactamente 'depth' movimientos
+     */
+    private static void collectPrefixes(int[][] board, int n, int row, int col, int moveNumber,
+                                        int depth, StringBuilder prefix, List<String> prefixes) {
+        if (prefix.length() == depth) {
+            prefixes.add(prefix.toString());
+            return;
+        }
+
+        for (int m = 0; m < KNIGHT_MOVES.length; m++) {
+            int nextRow = row + KNIGHT_MOVES[m][0];
+            int nextCol = col + KNIGHT_MOVES[m][1];
+
+            if (isValidMove(board, n, nextRow, nextCol)) {
+                board[nextRow][nextCol] = moveNumber;
+                prefix.append(m);
+                collectPrefixes(board, n, nextRow, nextCol, moveNumber + 1, depth, prefix, prefixes);
+                prefix.setLength(prefix.length() - 1);
+                board[nextRow][nextCol] = UNVISITED;
+            }
+        }
+    }
+
+    // Helper methods ---------------------------------------------------
+
+    private static boolean isValidMove(int[][] board, int n, int row, int col) {
+        return row >= 0 && row < n && col >= 0 && col < n && board[row][col] == UNVISITED;
+    }
+
+    private static Properties readJob(Path dir) throws IOException {
+        Properties job = new Properties();
+        try (Reader reader = Files.newBufferedReader(dir.resolve(JOB_FILE), StandardCharsets.UTF_8)) {
+            job.load(reader);
+        }
+        return job;
+    }
+
+    /**
+     * Rename atómico (reemplaza el destino si existe)
+     */
+    private static void moveAtomically(Path from, Path to) throws IOException {
+        try {
+            Files.move(from, to, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            throw new IOException("El sistema de archivos no permite renombrar atómicamente: " + to, e);
+        }
+    }
+
+    private static int countFiles(Path dir) throws IOException {
+        int count = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+            for (Path ignored : files) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static String defaultWorkerId() {
+        // "pid@host" según RuntimeMXBean; '@' no está permitido en el id
+        return ManagementFactory.getRuntimeMXBean().getName().replace('@', '-');
+    }
+
+}
@@ -1,3 +1,5 @@
+import java.util.concurrent.atomic.AtomicBoolean;
+
 /**
  * Implementación del Knight's Tour usando la Regla de Warnsdorff (Heurística Greedy)
  * 
@@ -7,7 +9,7 @@
  * Esta heurística es extremadamente eficiente para Knight's Tour compara-
  * do con backtracking puro.
  */
-public class KnightsTourGreedy {
+public class KnightsTourGreedy implements KnightsTourSolver {
     
     // Constante para casilla no visitada
     private static final int UNVISITED = -1;
@@ -18,6 +20,28 @@ public class KnightsTourGreedy {
     // Tablero matriz n x n
     private int[][] board;
     
+    // Sello de época por casilla: está visitada solo si stamps == epoch
+    // (fuera de la época actual, el valor de board no significa nada)
+    private final int[][] stamps;
+    private int epoch = 1;
+    
+    // Casilla (fila*n + columna) de cada paso del camino actual
+    private final int[] path;
+    
+    // Recorrido de la última búsqueda exitosa: se arma una sola vez al
+    // encontrarlo y getTour() devuelve siempre la misma instancia inmutable
+    private Tour tour;
+    
+    // Pedido de cancelación (puede llegar desde otro hilo)
+    private volatile boolean cancelled;
+    
+    // Señal compartida del llamador (ver setCancelSignal); solve() no la limpia
+    private AtomicBoolean cancelSignal;
+    
+    // Instrumentación (ver SolverMetrics): movimientos elegidos en la última búsqueda
+    private static final SolverMetrics METRICS = SolverMetrics.forSolver("Warnsdorff");
+    private long nodesExpanded;
+    
     // Todos los posibles movimientos del caballo (8 direcciones)
     private static final int[][] KNIGHT_MOVES = {
         {2, 1}, {1, 2}, {-1, 2}, {-2, 1},    // Cuadrantes I y II
@@ -36,19 +60,22 @@ public class KnightsTourGreedy {
         
         this.boardSize = boardSize;
         this.board = new int[boardSize][boardSize];
-        
-        // Inicializar el tablero
-        initializeBoard();
+        this.stamps = new int[boardSize][boardSize]; // época 0: nada visitado
+        this.path = new int[boardSize * boardSize];
     }
     
     /**
-     * Inicializa el tablero marcando todas las casillas como no visitadas
+     * Deja el tablero vacío en O(1): cambia de época en lugar de reescribir
+     * las n² casillas (solo cada ~2^31 reinicios se limpian los sellos)
      */
-    private void initializeBoard() {
-        for (int i = 0; i < boardSize; i++) {
-            for (int j = 0; j < boardSize; j++) {
-                board[i][j] = UNVISITED;
+    @Override
+    public void reset() {
+        tour = null;
+        if (++epoch == Integer.MAX_VALUE) {
+            for (int[] row : stamps) {
+                java.util.Arrays.fill(row, 0);
             }
+            epoch = 1;
         }
     }
     
@@ -70,41 +97,128 @@ public class KnightsTourGreedy {
      * @return true si se encontró una solución completa, false en caso contrario
      */
     public boolean solveWithWarnsdorff(int startRow, int startCol) {
+        SolverMetrics.Probe probe = SolverMetrics.ENABLED ? METRICS.begin(boardSize, startRow, startCol) : null;
+        nodesExpanded = 0;
+        boolean solved = false;
+        try {
+            solved = runWarnsdorff(startRow, startCol);
+            return solved;
+        } finally {
+            if (probe != null) {
+                probe.end(solved, nodesExpanded, 0);
+            }
+        }
+    }
+    
+    /**
+     * Cuerpo de solveWithWarnsdorff (sin instrumentación)
+     */
+    private boolean runWarnsdorff(int startRow, int startCol) {
+        // Cada búsqueda arranca sin pedido de cancelación: un cancel() que llegó
+        // tarde a la búsqueda anterior no debe cortar esta
+        cancelled = false;
+        
+        // Sin recorrido hasta encontrar uno (también si la posición es inválida)
+        tour = null;
+        
         // Validar coordenadas de entrada
         if (!isValidPosition(startRow, startCol)) {
             System.out.println("Posición inicial inválida.");
             return false;
         }
         
-        // Reinicializar el tablero para una búsqueda limpia
-        initializeBoard();
+        // Tablero limpio en O(1)
+        reset();
         
         // Marcar la posición inicial como el primer movimiento (movimiento 0)
         int currentRow = startRow;
         int currentCol = startCol;
         board[currentRow][currentCol] = 0;
+        stamps[currentRow][currentCol] = epoch;
+        path[0] = currentRow * boardSize + currentCol;
         
         // Aplicar Regla de Warnsdorff para cada movimiento restante
         // Total de movimientos: n² - 1 (ya hicimos el movimiento inicial)
         for (int moveNumber = 1; moveNumber < boardSize * boardSize; moveNumber++) {
+            // Cancelación cooperativa (relevante solo en tableros muy grandes)
+            if (isCancelled()) {
+                System.out.println("Búsqueda cancelada.");
+                return false;
+            }
+            
             // Encontrar el mejor próximo movimiento usando la heurística
             int[] nextMove = findBestNextMove(currentRow, currentCol);
             
             // Si no se encuentra movimiento válido, el tour falló
             if (nextMove == null) {
+                if (SolverMetrics.ENABLED) {
+                    METRICS.milestone("sin salida", moveNumber);
+                }
                 return false;
             }
+            nodesExpanded++;
             
             // Realizar el movimiento elegido y marcarlo en el tablero
             currentRow = nextMove[0];
             currentCol = nextMove[1];
             board[currentRow][currentCol] = moveNumber;
+            stamps[currentRow][currentCol] = epoch;
+            path[moveNumber] = currentRow * boardSize + currentCol;
         }
         
         // Tour completado exitosamente
+        tour = Tour.fromCells(boardSize, path, boardSize * boardSize);
         return true;
     }
     
+    @Override
+    public String getName() {
+        return "Warnsdorff";
+    }
+    
+    @Override
+    public int getBoardSize() {
+        return boardSize;
+    }
+    
+    /**
+     * Equivalente a solveWithWarnsdorff
+     */
+    @Override
+    public boolean solve(int startRow, int startCol) {
+        return solveWithWarnsdorff(startRow, startCol);
+    }
+    
+    /**
+     * @return recorrido de la última búsqueda exitosa (compacto, sin copiar el
+     *         tablero), o null si no hubo o se llamó a reset()
+     */
+    @Override
+    public Tour getTour() {
+        return tour;
+    }
+    
+    /**
+     * Pide detener solveWithWarnsdorff en curso; se revisa antes de cada
+     * movimiento y cada búsqueda limpia la bandera al empezar
+     */
+    @Override
+    public void cancel() {
+        cancelled = true;
+    }
+    
+    @Override
+    public void setCancelSignal(AtomicBoolean signal) {
+        cancelSignal = signal;
+    }
+    
+    /**
+     * Pedido propio (cancel()) o señal compartida del llamador
+     */
+    private boolean isCancelled() {
+        return cancelled || (cancelSignal != null && cancelSignal.get());
+    }
+    
     /**
      * Encuentra el mejor próximo movimiento usando la Regla de Warnsdorff
      * 
@@ -210,7 +324,7 @@ public class KnightsTourGreedy {
     private boolean isValidMove(int row, int col) {
         return (row >= 0 && row < boardSize && 
                 col >= 0 && col < boardSize && 
-                board[row][col] == UNVISITED);
+                stamps[row][col] != epoch);
     }
     
     /**
@@ -229,7 +343,7 @@ public class KnightsTourGreedy {
      * Muestra el tablero actual del caballo de forma visualmente atractiva
      */
     public void displayBoard() {
-        displayBoard(this.board);
+        displayBoard(getBoardCopy());
     }
     
     /**
@@ -276,7 +390,7 @@ public class KnightsTourGreedy {
         int[][] copy = new int[boardSize][boardSize];
         for (int i = 0; i < boardSize; i++) {
             for (int j = 0; j < boardSize; j++) {
-                copy[i][j] = board[i][j];
+                copy[i][j] = stamps[i][j] == epoch ? board[i][j] : UNVISITED;
             }
         }
         return copy;
@@ -0,0 +1,437 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntFunction;
+
+/**
+ * Portafolio de solucionadores del recorrido del caballo
+ *
+ * Ningún motor es el mejor para todos los casos: Warnsdorff es O(n²) pero
+ * puede quedar sin salida, y el backtracking es completo pero exponencial.
+ * En lugar de elegir a mano por tamaño de tablero, el portafolio corre los
+ * motores en hilos separados, se queda con el primer recorrido VERIFICADO y
+ * cancela (cooperativamente) al resto.
+ *
+ * - solve(): carrera de todos los motores a la vez
+ * - solveAuto(): usa los tiempos de corridas anteriores (promedio móvil
+ *   exponencial por tamaño de tablero) para lanzar primero al motor que
+ *   se espera más rápido; el resto arranca solo si ese motor falla o se
+ *   pasa de HEAD_START_FACTOR veces su tiempo estimado
+ *
+ * Cada pedido crea instancias nuevas de los motores (no son thread-safe), así
+ * que un mismo portafolio puede atender pedidos desde varios hilos.
+ */
+public class KnightsTourPortfolio {
+
+    // Peso de la última observación en el promedio móvil exponencial
+    private static final double EWMA_ALPHA = 0.3;
+
+    // Un motor que termina sin recorrido cuenta como si hubiera tardado
+    // FAILURE_PENALTY veces su tiempo más FAILURE_EXTRA_NANOS
+    private static final double FAILURE_PENALTY = 4.0;
+    private static final long FAILURE_EXTRA_NANOS = 10_000_000L;
+
+    // Ventaja del motor favorito en modo automático: HEAD_START_FACTOR veces su
+    // tiempo estimado, y nunca menos de MIN_HEAD_START_NANOS
+    private static final double HEAD_START_FACTOR = 2.0;
+    private static final long MIN_HEAD_START_NANOS = 1_000_000L;
+
+    private final List<String> engineNames = new ArrayList<>();
+    private final List<IntFunction<KnightsTourSolver>> factories = new ArrayList<>();
+
+    // estimates.get(n)[motor] = tiempo estimado en ns (NaN = sin datos); protegido por this
+    private final Map<Integer, double[]> estimates = new HashMap<>();
+
+    private final ExecutorService executor;
+
+    // Instrumentación (ver SolverMetrics): una llamada por carrera
+    private static final SolverMetrics METRICS = SolverMetrics.forSolver("Portafolio");
+
+    /**
+     * Crea un portafolio con Backtracking y Warnsdorff registrados
+     */
+    public KnightsTourPortfolio() {
+        this.executor = Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "knights-tour-portfolio");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        addEngine("Backtracking", KnightsTour::new);
+        addEngine("Warnsdorff", KnightsTourGreedy::new);
+    }
+
+    /**
+     * Registra un motor adicional
+     * @param name nombre único del motor
+     * @param factory crea un solucionador nuevo para un tamaño de tablero
+     * @throws IllegalArgumentException si el nombre ya está registrado
+     */
+    public synchronized void addEngine(String name, IntFunction<KnightsTourSolver> factory) {
+        if (engineNames.contains(name)) {
+            throw new IllegalArgumentException("Ya existe un motor llamado " + name);
+        }
+        engineNames.add(name);
+        factories.add(factory);
+    }
+
+    /**
+     * Corre todos los motores a la vez y devuelve el primer recorrido verificado
+     * @return resultado, o null si ningún motor encontró un recorrido
+     */
+    public Result solve(int boardSize, int startRow, int startCol) {
+        return solve(boardSize, startRow, startCol, 0);
+    }
+
+    /**
+     * Igual que solve(), pero abandona la carrera después de timeoutMillis
+     * @param timeoutMillis tiempo máximo de espera; 0 = sin límite
+     * @return resultado, o null si ningún motor encontró un recorrido a tiempo
+     */
+    public Result solve(int boardSize, int startRow, int startCol, long timeoutMillis) {
+        int[] order = new int[engineCount()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        return race(boardSize, startRow, startCol, order, 0, timeoutMillis);
+    }
+
+    /**
+     * Modo automático: lanza primero al motor con menor tiempo estimado para
+     * este tamaño de tablero. Mientras falten datos de algún motor, corre la
+     * carrera completa para aprenderlos.
+     * @return resultado, o null si ningún motor encontró un recorrido
+     */
+    public Result solveAuto(int boardSize, int startRow, int startCol) {
+        return solveAuto(boardSize, startRow, startCol, 0);
+    }
+
+    /**
+     * Modo automático con tiempo máximo de espera (0 = sin límite)
+     */
+    public Result solveAuto(int boardSize, int startRow, int startCol, long timeoutMillis) {
+        int engines = engineCount();
+        double[] estimate = estimatesFor(boardSize, engines);
+
+        Integer[] boxed = new Integer[engines];
+        boolean complete = true;
+        for (int i = 0; i < engines; i++) {
+            boxed[i] = i;
+            complete &= !Double.isNaN(estimate[i]);
+        }
+
+        if (!complete) {
+            return solve(boardSize, startRow, startCol, timeoutMillis);
+        }
+
+        Arrays.sort(boxed, (a, b) -> Double.compare(estimate[a], estimate[b]));
+        int[] order = new int[engines];
+        for (int i = 0; i < engines; i++) {
+            order[i] = boxed[i];
+        }
+
+        long headStart = Math.max(MIN_HEAD_START_NANOS, (long) (HEAD_START_FACTOR * estimate[order[0]]));
+        return race(boardSize, startRow, startCol, order, headStart, timeoutMillis);
+    }
+
+    /**
+     * Tiempo estimado de un motor para un tamaño de tablero
+     * @return milisegundos estimados, o -1 si todavía no hay datos
+     */
+    public synchronized double getEstimateMillis(int boardSize, String engineName) {
+        int engine = engineNames.indexOf(engineName);
+        double[] estimate = estimates.get(boardSize);
+        if (engine < 0 || estimate == null || engine >= estimate.length || Double.isNaN(estimate[engine])) {
+            return -1;
+        }
+        return estimate[engine] / 1_000_000.0;
+    }
+
+    /**
+     * Libera los hilos del portafolio (los motores en curso terminan igual)
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Carrera entre los motores de order; los primeros headStart ns solo corre order[0]
+     */
+    private Result race(int boardSize, int startRow, int startCol, int[] order,
+                        long headStartNanos, long timeoutMillis) {
+        if (boardSize < 3 || startRow < 0 || startRow >= boardSize || startCol < 0 || startCol >= boardSize) {
+            System.out.println("Posición inicial inválida.");
+            return null;
+        }
+
+        SolverMetrics.Probe probe = SolverMetrics.ENABLED ? METRICS.begin(boardSize, startRow, startCol) : null;
+        long start = System.nanoTime();
+        long deadline = timeoutMillis > 0 ? start + TimeUnit.MILLISECONDS.toNanos(timeoutMillis) : Long.MAX_VALUE;
+        long launchRestAt = headStartNanos > 0 ? start + headStartNanos : start;
+
+        AtomicBoolean raceOver = new AtomicBoolean();
+        ExecutorCompletionService<Attempt> completion = new ExecutorCompletionService<>(executor);
+        KnightsTourSolver[] solvers = new KnightsTourSolver[order.length];
+
+        int launched = 0;
+        int pending = 0;
+        Result winner = null;
+
+        try {
+            // Con ventaja, solo arranca el favorito; sin ella, todos
+            int initial = headStartNanos > 0 ? 1 : order.length;
+            for (; launched < initial; launched++, pending++) {
+                solvers[launched] = launch(completion, order[launched], boardSize, startRow, startCol, raceOver);
+            }
+
+            while (winner == null) {
+                if (pending == 0) {
+                    if (launched == order.length) {
+                        break; // todos los motores terminaron sin recorrido
+                    }
+                    launchRestAt = System.nanoTime(); // el favorito falló: lanzar al resto ya
+                }
+
+                if (launched < order.length && System.nanoTime() >= launchRestAt) {
+                    if (SolverMetrics.ENABLED) {
+                        METRICS.milestone("resto lanzado", order.length - launched);
+                    }
+                    for (; launched < order.length; launched++, pending++) {
+                        solvers[launched] = launch(completion, order[launched], boardSize, startRow, startCol, raceOver);
+                    }
+                }
+
+                long limit = launched < order.length ? Math.min(deadline, launchRestAt) : deadline;
+                Future<Attempt> done;
+                if (limit == Long.MAX_VALUE) {
+                    done = completion.take();
+                } else {
+                    done = completion.poll(Math.max(0, limit - System.nanoTime()), TimeUnit.NANOSECONDS);
+                }
+
+                if (done == null) {
+                    if (System.nanoTime() >= deadline) {
+                        System.out.println("Tiempo agotado: ningún motor encontró un recorrido.");
+                        break;
+                    }
+                    continue; // venció la ventaja del favorito
+                }
+
+                pending--;
+                Attempt attempt = getAttempt(done);
+                if (attempt != null && attempt.tour != null) {
+                    winner = new Result(engineName(attempt.engine), attempt.tour, attempt.elapsedNanos);
+                    if (SolverMetrics.ENABLED) {
+                        METRICS.milestone("ganador", attempt.engine);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            // Cancelar a los motores que siguen corriendo
+            raceOver.set(true);
+            for (int i = 0; i < launched; i++) {
+                solvers[i].cancel();
+            }
+            if (probe != null) {
+                probe.end(winner != null, 0, 0);
+            }
+        }
+
+        return winner;
+    }
+
+    /**
+     * Lanza un motor; la tarea mide, verifica el recorrido y registra el tiempo
+     */
+    private KnightsTourSolver launch(ExecutorCompletionService<Attempt> completion, int engine,
+                                     int boardSize, int startRow, int startCol, AtomicBoolean raceOver) {
+        KnightsTourSolver solver = factory(engine).apply(boardSize);
+        // solve() limpia la bandera de cancel() al empezar: el fin de la carrera
+        // llega también por esta señal, que revisa durante toda la búsqueda
+        solver.setCancelSignal(raceOver);
+
+        completion.submit(() -> {
+            // La carrera terminó antes de que la tarea arrancara
+            if (raceOver.get()) {
+                return new Attempt(engine, null, 0);
+            }
+            long start = System.nanoTime();
+            boolean solved;
+            try {
+                solved = solver.solve(startRow, startCol);
+            } catch (RuntimeException | StackOverflowError e) {
+                solved = false;
+            }
+            long elapsed = System.nanoTime() - start;
+
+            Tour tour = null;
+            if (solved) {
+                try {
+                    tour = solver.getTour();
+                } catch (IllegalArgumentException e) {
+                    // El motor armó un camino que no es de caballo
+                }
+            }
+            if (tour != null && !isValidTour(tour, startRow, startCol)) {
+                tour = null;
+            }
+
+            if (tour != null) {
+                record(boardSize, engine, elapsed);
+            } else if (raceOver.get()) {
+                // Cancelado: solo sabemos que habría tardado al menos esto
+                recordLowerBound(boardSize, engine, elapsed);
+            } else {
+                record(boardSize, engine, (long) (elapsed * FAILURE_PENALTY) + FAILURE_EXTRA_NANOS);
+            }
+
+            return new Attempt(engine, tour, elapsed);
+        });
+
+        return solver;
+    }
+
+    /**
+     * Verifica el recorrido de un motor: Tour ya garantiza saltos de caballo sin
+     * casillas repetidas, falta que sea completo y empiece donde se pidió
+     */
+    static boolean isValidTour(Tour tour, int startRow, int startCol) {
+        return tour.isComplete() && tour.getStartRow() == startRow && tour.getStartCol() == startCol;
+    }
+
+    /**
+     * Resultado de una carrera: motor ganador, recorrido y tiempo del ganador
+     */
+    public static class Result {
+        private final String engineName;
+        private final Tour tour;
+        private final long elapsedNanos;
+
+        Result(String engineName, Tour tour, long elapsedNanos) {
+            this.engineName = engineName;
+            this.tour = tour;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public String getEngineName() {
+            return engineName;
+        }
+
+        /**
+         * @return recorrido ganador (ya verificado)
+         */
+        public Tour getTour() {
+            return tour;
+        }
+
+        /**
+         * @return tablero con el número de paso de cada casilla (se materializa
+         *         en cada llamada; preferir getTour())
+         */
+        public int[][] getBoard() {
+            return tour.toBoard();
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s en %.3f ms", engineName, elapsedNanos / 1_000_000.0);
+        }
+    }
+
+    // Helper methods ---------------------------------------------------
+
+    /**
+     * Intento de un motor: tour es null si no encontró un recorrido válido
+     */
+    private static class Attempt {
+        final int engine;
+        final Tour tour;
+        final long elapsedNanos;
+
+        Attempt(int engine, Tour tour, long elapsedNanos) {
+            this.engine = engine;
+            this.tour = tour;
+            this.elapsedNanos = elapsedNanos;
+        }
+    }
+
+    private static Attempt getAttempt(Future<Attempt> done) throws InterruptedException {
+        try {
+            return done.get();
+        } catch (ExecutionException e) {
+            return null;
+        }
+    }
+
+    private synchronized int engineCount() {
+        return engineNames.size();
+    }
+
+    private synchronized String engineName(int engine) {
+        return engineNames.get(engine);
+    }
+
+    private synchronized IntFunction<KnightsTourSolver> factory(int engine) {
+        return factories.get(engine);
+    }
+
+    /**
+     * Copia de las estimaciones para un tamaño (NaN = sin datos)
+     */
+    private synchronized double[] estimatesFor(int boardSize, int engines) {
+        double[] copy = new double[engines];
+        Arrays.fill(copy, Double.NaN);
+        double[] estimate = estimates.get(boardSize);
+        if (estimate != null) {
+            System.arraycopy(estimate, 0, copy, 0, Math.min(engines, estimate.length));
+        }
+        return copy;
+    }
+
+    /**
+     * Agrega una observación al promedio móvil exponencial del motor
+     */
+    private synchronized void record(int boardSize, int engine, long nanos) {
+        double[] estimate = slot(boardSize, engine);
+        estimate[engine] = Double.isNaN(estimate[engine])
+            ? nanos
+            : EWMA_ALPHA * nanos + (1 - EWMA_ALPHA) * estimate[engine];
+    }
+
+    /**
+     * Observación censurada (motor cancelado): la estimación no puede quedar por debajo
+     */
+    private synchronized void recordLowerBound(int boardSize, int engine, long nanos) {
+        double[] estimate = slot(boardSize, engine);
+        if (Double.isNaN(estimate[engine]) || estimate[engine] < nanos) {
+            estimate[engine] = nanos;
+        }
+    }
+
+    private double[] slot(int boardSize, int engine) {
+        double[] estimate = estimates.get(boardSize);
+        if (estimate == null || estimate.length <= engine) {
+            int oldLength = estimate == null ? 0 : estimate.length;
+            estimate = estimate == null ? new double[engineNames.size()] : Arrays.copyOf(estimate, engineNames.size());
+            Arrays.fill(estimate, oldLength, estimate.length, Double.NaN);
+            estimates.put(boardSize, estimate);
+        }
+        return estimate;
+    }
+
+}
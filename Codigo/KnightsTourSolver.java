@@ -0,0 +1,73 @@
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Contrato común de los solucionadores del recorrido completo del caballo
+ *
+ * Permite tratar Backtracking, Warnsdorff y cualquier motor futuro de forma
+ * uniforme (por ejemplo, para correrlos en paralelo en KnightsTourPortfolio).
+ *
+ * - Cada instancia mantiene su propio tablero: NO es segura para que dos
+ *   hilos llamen a solve() a la vez; cancel() sí puede llamarse desde otro hilo
+ * - Las instancias son reutilizables: solve() empieza con reset(), que vacía
+ *   el tablero en O(1) (sellos de época), así que conviene conservar una
+ *   instancia por hilo y tamaño en lugar de crear una por llamada
+ * - La cancelación es cooperativa: el motor revisa la bandera durante la
+ *   búsqueda y solve() retorna false lo antes posible
+ */
+public interface KnightsTourSolver {
+
+    /**
+     * @return nombre corto del motor (para reportes y estadísticas)
+     */
+    String getName();
+
+    /**
+     * @return tamaño del tablero (n para un tablero n x n)
+     */
+    int getBoardSize();
+
+    /**
+     * Busca un recorrido completo desde la posición inicial
+     * @param startRow fila inicial (índice 0)
+     * @param startCol columna inicial (índice 0)
+     * @return true si se encontró un recorrido completo; false si no existe,
+     *         el motor no lo encontró o la búsqueda fue cancelada
+     */
+    boolean solve(int startRow, int startCol);
+
+    /**
+     * Pide detener la búsqueda en curso
+     * solve() limpia la bandera al empezar (también si la posición es
+     * inválida), así que un cancel() que llega después de que solve()
+     * retornó no corta la próxima búsqueda de una instancia reutilizada.
+     * Para cancelar una tarea que quizás todavía no arrancó, usar
+     * setCancelSignal.
+     */
+    void cancel();
+
+    /**
+     * Señal de cancelación del llamador que la búsqueda revisa junto con la
+     * propia bandera. solve() nunca la limpia, así que un pedido que llega
+     * antes de que la búsqueda arranque no se pierde (KnightsTourPortfolio
+     * comparte así el fin de la carrera). Fijarla antes de llamar a solve();
+     * null la quita. Por defecto se ignora: el motor solo atiende cancel().
+     */
+    default void setCancelSignal(AtomicBoolean signal) {
+    }
+
+    /**
+     * Vacía el tablero en O(1); getBoardCopy() queda sin casillas visitadas
+     */
+    void reset();
+    
+    /**
+     * @return recorrido de la última solve() exitosa como valor compacto
+     *         (ver Tour), o null si no hubo o se llamó a reset()
+     */
+    Tour getTour();
+    
+    /**
+     * @return copia del tablero con el número de paso de cada casilla
+     */
+    int[][] getBoardCopy();
+}
@@ -0,0 +1,199 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Tablero de puntajes leído de un archivo binario mapeado en memoria
+ *
+ * Los puntajes NO se copian al heap: FileChannel.map deja el archivo como
+ * memoria off-heap y cada lectura va directo a las páginas mapeadas. Así un
+ * tablero de varios GB no ocupa heap ni paga una copia previa.
+ *
+ * FORMATO (little-endian):
+ *   bytes 0..3   magic "KTSB" (0x4B545342)
+ *   bytes 4..7   n (el tablero es n x n)
+ *   bytes 8..11  tamaño de elemento en bytes: 1 (byte), 2 (short) o 4 (int)
+ *   bytes 12..15 reservado (0)
+ *   bytes 16..   n² puntajes con signo, fila por fila
+ *
+ * Un MappedByteBuffer solo direcciona hasta 2 GB, así que el archivo se mapea
+ * en segmentos de SEGMENT_BYTES. Como el encabezado y el tamaño de segmento
+ * son múltiplos del tamaño de elemento, ningún puntaje queda partido entre
+ * dos segmentos.
+ *
+ * Leer puntajes escala a archivos > 2 GB, pero los modos de KnightsTourDP
+ * que arman tablas de n²·k en el heap siguen limitados por el heap y por
+ * índices int (lanzan IllegalArgumentException); para tableros así usar
+ * KnightsTourDP.createWindowSolver().
+ *
+ * Solo lectura e inmutable: seguro para lecturas concurrentes.
+ */
+public class MappedScoreBoard implements AutoCloseable {
+
+    public static final int MAGIC = 0x4B545342;
+    public static final int HEADER_BYTES = 16;
+
+    // 1 GB por segmento: potencia de 2 para calcular segmento y offset con shifts
+    private static final int SEGMENT_SHIFT = 30;
+    private static final long SEGMENT_BYTES = 1L << SEGMENT_SHIFT;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] segments;
+    private final int boardSize;
+    private final int elementBytes;
+
+    private MappedScoreBoard(FileChannel channel, MappedByteBuffer[] segments, int boardSize, int elementBytes) {
+        this.channel = channel;
+        this.segments = segments;
+        this.boardSize = boardSize;
+        this.elementBytes = elementBytes;
+    }
+
+    /**
+     * Abre y mapea un archivo de puntajes
+     * @param file archivo en el formato descripto arriba
+     * @return tablero listo para leer
+     * @throws IOException si el archivo no existe, no se puede mapear o su formato es inválido
+     */
+    public static MappedScoreBoard open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining()) {
+                if (channel.read(header, header.position()) < 0) {
+                    throw new IOException("Archivo de puntajes truncado: falta el encabezado");
+                }
+            }
+            header.flip();
+
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Archivo de puntajes inválido: magic incorrecto");
+            }
+            int boardSize = header.getInt();
+            int elementBytes = header.getInt();
+            if (boardSize < 1) {
+                throw new IOException("Archivo de puntajes inválido: n = " + boardSize);
+            }
+            if (elementBytes != 1 && elementBytes != 2 && elementBytes != 4) {
+                throw new IOException("Archivo de puntajes inválido: tamaño de elemento " + elementBytes);
+            }
+
+            long totalBytes = HEADER_BYTES + (long) boardSize * boardSize * elementBytes;
+            if (channel.size() < totalBytes) {
+                throw new IOException("Archivo de puntajes truncado: se esperaban " + totalBytes + " bytes");
+            }
+
+            // El segmento 0 incluye el encabezado para que los offsets sean absolutos
+            int segmentCount = (int) ((totalBytes + SEGMENT_BYTES - 1) >>> SEGMENT_SHIFT);
+            MappedByteBuffer[] segments = new MappedByteBuffer[segmentCount];
+            for (int i = 0; i < segmentCount; i++) {
+                long position = (long) i << SEGMENT_SHIFT;
+                long length = Math.min(SEGMENT_BYTES, totalBytes - position);
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                segments[i].order(ByteOrder.LITTLE_ENDIAN);
+            }
+
+            return new MappedScoreBoard(channel, segments, boardSize, elementBytes);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Escribe una matriz de puntajes en el formato binario (útil para generar entradas)
+     * @param file archivo destino (se sobrescribe)
+     * @param scores matriz n x n
+     * @param elementBytes 1, 2 o 4; los puntajes deben entrar en ese tamaño
+     * @throws IOException si falla la escritura
+     * @throws IllegalArgumentException si el tamaño de elemento es inválido o un puntaje no entra
+     */
+    public static void write(Path file, int[][] scores, int elementBytes) throws IOException {
+        if (elementBytes != 1 && elementBytes != 2 && elementBytes != 4) {
+            throw new IllegalArgumentException("El tamaño de elemento debe ser 1, 2 o 4");
+        }
+        int boardSize = scores.length;
+        long min = elementBytes == 4 ? Integer.MIN_VALUE : -(1L << (elementBytes * 8 - 1));
+        long max = elementBytes == 4 ? Integer.MAX_VALUE : (1L << (elementBytes * 8 - 1)) - 1;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(boardSize).putInt(elementBytes).putInt(0).flip();
+            writeFully(channel, header);
+
+            ByteBuffer row = ByteBuffer.allocate(boardSize * elementBytes).order(ByteOrder.LITTLE_ENDIAN);
+            for (int i = 0; i < boardSize; i++) {
+                row.clear();
+                for (int j = 0; j < boardSize; j++) {
+                    int value = scores[i][j];
+                    if (value < min || value > max) {
+                        throw new IllegalArgumentException("El puntaje " + value + " no entra en " +
+                                                           elementBytes + " byte(s)");
+                    }
+                    if (elementBytes == 1) {
+                        row.put((byte) value);
+                    } else if (elementBytes == 2) {
+                        row.putShort((short) value);
+                    } else {
+                        row.putInt(value);
+                    }
+                }
+                row.flip();
+                writeFully(channel, row);
+            }
+        }
+    }
+
+    /**
+     * Lee el puntaje de (row, col) directamente de la memoria mapeada
+     * No valida límites más allá de los del buffer: el llamador valida la posición
+     */
+    public int getScore(int row, int col) {
+        long offset = HEADER_BYTES + ((long) row * boardSize + col) * elementBytes;
+        MappedByteBuffer segment = segments[(int) (offset >>> SEGMENT_SHIFT)];
+        int index = (int) (offset & (SEGMENT_BYTES - 1));
+
+        switch (elementBytes) {
+            case 1:
+                return segment.get(index);
+            case 2:
+                return segment.getShort(index);
+            default:
+                return segment.getInt(index);
+        }
+    }
+
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    public int getElementBytes() {
+        return elementBytes;
+    }
+
+    /**
+     * Cantidad de segmentos mapeados (más de uno en archivos > 1 GB)
+     */
+    public int getSegmentCount() {
+        return segments.length;
+    }
+
+    /**
+     * Cierra el canal; el mapeo se libera cuando el GC recolecta los buffers
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
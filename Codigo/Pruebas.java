@@ -39,6 +39,14 @@ public class Pruebas {
                 case "comparacion":
                     ejecutarComparacion();
                     break;
+                case "6":
+                case "portafolio":
+                    ejecutarPortafolio();
+                    break;
+                case "7":
+                case "extremos":
+                    ejecutarExtremosFijos();
+                    break;
                 default:
                     System.out.println("Opción no válida. Use 'java Pruebas' para ver el menú.");
             }
@@ -52,6 +60,8 @@ public class Pruebas {
         System.out.println("3. Ejecutar solo Programación Dinámica");
         System.out.println("4. Ejecutar todos los algoritmos");
         System.out.println("5. Ejecutar comparación de rendimiento");
+        System.out.println("6. Ejecutar portafolio (carrera de motores)");
+        System.out.println("7. Ejecutar recorridos con inicio y final fijos (bidireccional)");
         System.out.println();
         System.out.println("Uso: java Pruebas [opción]");
         System.out.println("Ejemplo: java Pruebas 1");
@@ -202,5 +212,66 @@ public class Pruebas {
         System.out.println("- Greedy: Complejidad O(n²) - Polinomial");
         System.out.println("- DP: Complejidad O(n²×k) - Polinomial");
     }
+    
+    private static void ejecutarPortafolio() {
+        System.out.println("\n=== PORTAFOLIO DE MOTORES ===");
+        System.out.println();
+        
+        KnightsTourPortfolio portafolio = new KnightsTourPortfolio();
+        int[] tamaños = {5, 6, 8, 16};
+        
+        // La primera corrida de cada tamaño es una carrera completa; las siguientes
+        // usan los tiempos aprendidos para lanzar primero al motor más rápido
+        for (int size : tamaños) {
+            System.out.println("Tablero " + size + "x" + size + ":");
+            System.out.println("-----------------------------------");
+            
+            for (int corrida = 1; corrida <= 3; corrida++) {
+                KnightsTourPortfolio.Result resultado = portafolio.solveAuto(size, 0, 0, 10_000);
+                if (resultado != null) {
+                    System.out.println("Corrida " + corrida + ": ✓ " + resultado);
+                } else {
+                    System.out.println("Corrida " + corrida + ": ✗ No se encontró solución");
+                }
+            }
+            System.out.printf("Estimado: Backtracking %.3f ms, Warnsdorff %.3f ms%n",
+                             portafolio.getEstimateMillis(size, "Backtracking"),
+                             portafolio.getEstimateMillis(size, "Warnsdorff"));
+            System.out.println();
+        }
+        
+        portafolio.shutdown();
+    }
+    
+    private static void ejecutarExtremosFijos() {
+        System.out.println("\n=== RECORRIDOS CON INICIO Y FINAL FIJOS (BIDIRECCIONAL) ===");
+        System.out.println();
+        
+        // {n, fila inicial, columna inicial, fila final, columna final}
+        int[][] casos = {{5, 0, 0, 4, 4}, {5, 2, 2, 0, 0}, {6, 0, 0, 5, 4}};
+        
+        for (int[] caso : casos) {
+            int size = caso[0];
+            System.out.printf("Tablero %dx%d: (%d,%d) -> (%d,%d)%n", size, size, caso[1], caso[2], caso[3], caso[4]);
+            System.out.println("-----------------------------------");
+            
+            KnightsTourBidirectional bidireccional = new KnightsTourBidirectional(size);
+            long startTime = System.nanoTime();
+            boolean encontrado = bidireccional.findPath(caso[1], caso[2], caso[3], caso[4]);
+            long endTime = System.nanoTime();
+            
+            if (encontrado) {
+                System.out.println("✓ Recorrido encontrado en " + (endTime - startTime) / 1000000.0 + " ms");
+                new KnightsTour(size).displayBoard(bidireccional.getBoardCopy());
+            } else {
+                System.out.println("✗ No se encontró recorrido");
+            }
+            
+            startTime = System.nanoTime();
+            long total = bidireccional.countPaths(caso[1], caso[2], caso[3], caso[4]);
+            endTime = System.nanoTime();
+            System.out.println("Total de recorridos: " + total + " (" + (endTime - startTime) / 1000000.0 + " ms)");
+            System.out.println();
+        }
+    }
 }
-
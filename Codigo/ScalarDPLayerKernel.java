@@ -0,0 +1,28 @@
+/**
+ * Kernel escalar para una capa DP en layout padded
+ *
+ * Es el camino de respaldo cuando el Vector API no está disponible.
+ * Gracias al borde NEG_INF no hace ninguna verificación de límites.
+ */
+public class ScalarDPLayerKernel implements DPLayerKernel {
+
+    @Override
+    public void computeLayer(int[] scores, int[] previous, int[] current, int boardSize) {
+        int stride = DPLayerKernel.stride(boardSize);
+        int[] offsets = DPLayerKernel.knightOffsets(boardSize);
+
+        for (int row = 0; row < boardSize; row++) {
+            int rowStart = (row + PADDING) * stride + PADDING;
+            int rowEnd = rowStart + boardSize;
+
+            for (int cell = rowStart; cell < rowEnd; cell++) {
+                current[cell] = scores[cell] + KnightMoves.bestOf(previous, cell, offsets);
+            }
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "Escalar";
+    }
+}
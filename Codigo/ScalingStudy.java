@@ -0,0 +1,369 @@
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.function.IntSupplier;
+
+/**
+ * Estudio empírico de escalamiento
+ *
+ * InformeComplejidad.md afirma O(n²) para Warnsdorff y O(n²·k) para la DP.
+ * Este programa lo mide: recorre n y k en rangos geométricos, mide cada
+ * punto con calentamiento y repeticiones (mediana), y ajusta una recta en
+ * escala log-log. La pendiente es el exponente empírico:
+ *
+ *   tiempo ≈ c · x^b   =>   log(tiempo) = log(c) + b · log(x)
+ *
+ * Series:
+ * - greedy: Warnsdorff, tiempo vs n           (esperado b = 2)
+ * - dp-n:   DP tabulada, tiempo vs n, k fijo  (esperado b = 2)
+ * - dp-k:   DP tabulada, tiempo vs k, n fijo  (esperado b = 1)
+ *
+ * Para cada punto se marca:
+ * - "salto": la pendiente local contra el punto anterior supera la esperada
+ *   en más de DEVIATION (típico al pasar un nivel de caché; se informa el
+ *   tamaño de memoria de trabajo para ubicarlo)
+ * - "GC": el recolector ocupó más de GC_SHARE_LIMIT del tiempo medido
+ * - "sublineal": pendiente local menor que la esperada en más de DEVIATION
+ *   (costos fijos que dominan en tamaños chicos)
+ * - "sin recorrido": Warnsdorff quedó sin salida (el tiempo no es el de un
+ *   recorrido completo)
+ *
+ * Salida: una tabla markdown por serie (lista para InformeComplejidad.md,
+ * sección 5.3) y un CSV por serie en el directorio indicado.
+ *
+ * Uso: java ScalingStudy [greedy|dp-n|dp-k|todo] [directorioSalida]
+ */
+public class ScalingStudy {
+
+    private static final int WARMUP_ROUNDS = 3;
+    private static final long WARMUP_MIN_NANOS = 1_000_000_000L;
+    private static final int MEASURED_ROUNDS = 7;
+
+    // Diferencia de pendiente local que se considera desvío
+    private static final double DEVIATION = 0.5;
+
+    // Fracción del tiempo medido en GC a partir de la cual se marca el punto
+    private static final double GC_SHARE_LIMIT = 0.10;
+
+    // k fijo en la serie dp-n y n fijo en la serie dp-k
+    private static final int DP_FIXED_MOVES = 16;
+    private static final int DP_FIXED_SIZE = 128;
+
+    // t de Student de dos colas al 95% para 1..30 grados de libertad
+    private static final double[] T_95 = {
+        12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262, 2.228,
+        2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086,
+        2.080, 2.074, 2.069, 2.064, 2.060, 2.056, 2.052, 2.048, 2.045, 2.042
+    };
+
+    public static void main(String[] args) throws IOException {
+        String serie = args.length > 0 ? args[0].toLowerCase() : "todo";
+        Path outputDir = Paths.get(args.length > 1 ? args[1] : ".");
+        Files.createDirectories(outputDir);
+
+        StringBuilder markdown = new StringBuilder();
+        switch (serie) {
+            case "greedy":
+                markdown.append(greedySeries(outputDir));
+                break;
+            case "dp-n":
+                markdown.append(dpSizeSeries(outputDir));
+                break;
+            case "dp-k":
+                markdown.append(dpMovesSeries(outputDir));
+                break;
+            case "todo":
+                markdown.append(greedySeries(outputDir)).append('\n');
+                markdown.append(dpSizeSeries(outputDir)).append('\n');
+                markdown.append(dpMovesSeries(outputDir));
+                break;
+            default:
+                System.out.println("Opción no válida. Opciones: greedy, dp-n, dp-k, todo");
+                return;
+        }
+
+        Path report = outputDir.resolve("escalamiento.md");
+        Files.write(report, markdown.toString().getBytes(StandardCharsets.UTF_8));
+        System.out.println(markdown);
+        System.out.println("Tablas en " + report + " y CSV en " + outputDir);
+    }
+
+    /**
+     * Warnsdorff desde (0,0) con n = 16, 32, ..., 1024
+     */
+    private static String greedySeries(Path outputDir) throws IOException {
+        int[] sizes = geometric(16, 1024);
+        Point[] points = new Point[sizes.length];
+
+        for (int i = 0; i < sizes.length; i++) {
+            int n = sizes[i];
+            KnightsTourGreedy solver = new KnightsTourGreedy(n);
+            String note = solver.solveWithWarnsdorff(0, 0) ? "" : "sin recorrido";
+            points[i] = measure(n, n, 0, (long) n * n * Integer.BYTES, note,
+                                () -> solver.solveWithWarnsdorff(0, 0) ? 1 : 0);
+        }
+
+        return report(outputDir, "greedy", "Warnsdorff: tiempo vs n", "n", 2, points);
+    }
+
+    /**
+     * DP tabulada con k fijo y n = 16, 32, ..., 1024
+     */
+    private static String dpSizeSeries(Path outputDir) throws IOException {
+        int[] sizes = geometric(16, 1024);
+        Point[] points = new Point[sizes.length];
+
+        for (int i = 0; i < sizes.length; i++) {
+            int n = sizes[i];
+            KnightsTourDP dp = newDP(n, DP_FIXED_MOVES);
+            points[i] = measure(n, n, DP_FIXED_MOVES, dpTableBytes(n, DP_FIXED_MOVES), "",
+                                () -> dp.computeTabulated(0, 0));
+        }
+
+        return report(outputDir, "dp-n", "DP tabulada: tiempo vs n (k=" + DP_FIXED_MOVES + ")", "n", 2, points);
+    }
+
+    /**
+     * DP tabulada con n fijo y k = 8, 16, ..., 1024
+     */
+    private static String dpMovesSeries(Path outputDir) throws IOException {
+        int[] moves = geometric(8, 1024);
+        Point[] points = new Point[moves.length];
+
+        for (int i = 0; i < moves.length; i++) {
+            int k = moves[i];
+            KnightsTourDP dp = newDP(DP_FIXED_SIZE, k);
+            points[i] = measure(k, DP_FIXED_SIZE, k, dpTableBytes(DP_FIXED_SIZE, k), "",
+                                () -> dp.computeTabulated(0, 0));
+        }
+
+        return report(outputDir, "dp-k", "DP tabulada: tiempo vs k (n=" + DP_FIXED_SIZE + ")", "k", 1, points);
+    }
+
+    /**
+     * Un punto medido de una serie
+     */
+    private static class Point {
+        final int x;
+        final int n;
+        final int k;
+        final long workingSetBytes;
+        final double medianMillis;
+        final double minMillis;
+        final double gcShare;
+        final String note;
+        // Suma de resultados: evita que el JIT descarte el trabajo medido
+        final int checksum;
+
+        Point(int x, int n, int k, long workingSetBytes, double medianMillis,
+              double minMillis, double gcShare, String note, int checksum) {
+            this.x = x;
+            this.n = n;
+            this.k = k;
+            this.workingSetBytes = workingSetBytes;
+            this.medianMillis = medianMillis;
+            this.minMillis = minMillis;
+            this.gcShare = gcShare;
+            this.note = note;
+            this.checksum = checksum;
+        }
+    }
+
+    /**
+     * Calienta (mínimo de rondas y de tiempo), mide MEASURED_ROUNDS veces y
+     * registra qué parte del tiempo medido fue GC
+     */
+    private static Point measure(int x, int n, int k, long workingSetBytes, String note, IntSupplier work) {
+        int checksum = 0;
+        long warmupStart = System.nanoTime();
+        for (int round = 0; round < WARMUP_ROUNDS || System.nanoTime() - warmupStart < WARMUP_MIN_NANOS; round++) {
+            checksum += work.getAsInt();
+        }
+
+        long[] times = new long[MEASURED_ROUNDS];
+        long gcBefore = gcMillis();
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            long start = System.nanoTime();
+            checksum += work.getAsInt();
+            times[round] = System.nanoTime() - start;
+        }
+        long gcDuring = gcMillis() - gcBefore;
+
+        long total = 0;
+        for (long time : times) {
+            total += time;
+        }
+        Arrays.sort(times);
+
+        double gcShare = total == 0 ? 0 : Math.min(1.0, gcDuring * 1e6 / total);
+        return new Point(x, n, k, workingSetBytes, times[MEASURED_ROUNDS / 2] / 1e6, times[0] / 1e6, gcShare, note, checksum);
+    }
+
+    /**
+     * Ajusta la pendiente, marca desvíos, escribe el CSV y arma la tabla markdown
+     */
+    private static String report(Path outputDir, String serie, String title, String axis,
+                                 int expected, Point[] points) throws IOException {
+        int m = points.length;
+        double[] logX = new double[m];
+        double[] logT = new double[m];
+        for (int i = 0; i < m; i++) {
+            logX[i] = Math.log(points[i].x);
+            logT[i] = Math.log(points[i].medianMillis);
+        }
+
+        // Mínimos cuadrados en log-log: pendiente, error estándar e IC 95%
+        double meanX = mean(logX);
+        double meanT = mean(logT);
+        double sxx = 0;
+        double sxt = 0;
+        for (int i = 0; i < m; i++) {
+            sxx += (logX[i] - meanX) * (logX[i] - meanX);
+            sxt += (logX[i] - meanX) * (logT[i] - meanT);
+        }
+        double slope = sxt / sxx;
+        double intercept = meanT - slope * meanX;
+        double residual = 0;
+        for (int i = 0; i < m; i++) {
+            double error = logT[i] - (intercept + slope * logX[i]);
+            residual += error * error;
+        }
+        double stdError = m > 2 ? Math.sqrt(residual / (m - 2) / sxx) : 0;
+        double halfWidth = tQuantile(m - 2) * stdError;
+
+        String[] localSlopes = new String[m];
+        String[] flags = new String[m];
+        for (int i = 0; i < m; i++) {
+            StringBuilder marks = new StringBuilder(points[i].note);
+            localSlopes[i] = "";
+            if (i > 0) {
+                double local = (logT[i] - logT[i - 1]) / (logX[i] - logX[i - 1]);
+                localSlopes[i] = String.format(Locale.ROOT, "%.2f", local);
+                if (local > expected + DEVIATION) {
+                    if (marks.length() > 0) {
+                        marks.append(", ");
+                    }
+                    marks.append("salto (memoria ").append(formatBytes(points[i].workingSetBytes)).append(")");
+                } else if (local < expected - DEVIATION) {
+                    if (marks.length() > 0) {
+                        marks.append(", ");
+                    }
+                    marks.append("sublineal");
+                }
+            }
+            if (points[i].gcShare > GC_SHARE_LIMIT) {
+                if (marks.length() > 0) {
+                    marks.append(", ");
+                }
+                marks.append(String.format(Locale.ROOT, "GC %.0f%%", points[i].gcShare * 100));
+            }
+            flags[i] = marks.toString();
+        }
+
+        Path csv = outputDir.resolve("escalamiento-" + serie + ".csv");
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(csv, StandardCharsets.UTF_8))) {
+            out.println("serie,n,k,memoria_bytes,mediana_ms,min_ms,fraccion_gc,pendiente_local,marcas");
+            for (int i = 0; i < m; i++) {
+                Point p = points[i];
+                out.printf(Locale.ROOT, "%s,%d,%d,%d,%.6f,%.6f,%.4f,%s,\"%s\"%n",
+                           serie, p.n, p.k, p.workingSetBytes, p.medianMillis, p.minMillis,
+                           p.gcShare, localSlopes[i], flags[i]);
+            }
+        }
+
+        StringBuilder md = new StringBuilder();
+        md.append("#### ").append(title).append(" (esperado O(").append(axis)
+          .append(expected == 1 ? "" : "^" + expected).append("))\n\n");
+        md.append("| ").append(axis).append(" | Mediana | Mínimo | Memoria | GC | Pendiente local | Marcas |\n");
+        md.append("|---|---|---|---|---|---|---|\n");
+        for (int i = 0; i < m; i++) {
+            Point p = points[i];
+            md.append(String.format(Locale.ROOT, "| %d | %s | %s | %s | %.0f%% | %s | %s |\n",
+                                    p.x, formatMillis(p.medianMillis), formatMillis(p.minMillis),
+                                    formatBytes(p.workingSetBytes), p.gcShare * 100,
+                                    localSlopes[i].isEmpty() ? "-" : localSlopes[i],
+                                    flags[i].isEmpty() ? "-" : flags[i]));
+        }
+
+        boolean consistent = Math.abs(slope - expected) <= halfWidth || Math.abs(slope - expected) <= 0.1 * expected;
+        md.append(String.format(Locale.ROOT, "%nPendiente ajustada: **%.2f** (IC 95%%: %.2f – %.2f) → %s%n",
+                                slope, slope - halfWidth, slope + halfWidth,
+                                consistent ? "✓ consistente con el exponente " + expected
+                                           : "✗ se aparta del exponente " + expected));
+        return md.toString();
+    }
+
+    // Helper methods ---------------------------------------------------
+
+    private static KnightsTourDP newDP(int n, int k) {
+        KnightsTourDP dp = new KnightsTourDP(n, k);
+        dp.setCustomScores(BatchRunner.seededScores(n, 0));
+        return dp;
+    }
+
+    /**
+     * Tabla completa de computeTabulated: (k + 1) capas padded de (n + 4)² ints
+     */
+    private static long dpTableBytes(int n, int k) {
+        long stride = DPLayerKernel.stride(n);
+        return (k + 1L) * stride * stride * Integer.BYTES;
+    }
+
+    /**
+     * from, 2·from, 4·from, ... hasta to inclusive
+     */
+    private static int[] geometric(int from, int to) {
+        int count = 0;
+        for (int value = from; value <= to; value *= 2) {
+            count++;
+        }
+        int[] values = new int[count];
+        for (int i = 0, value = from; i < count; i++, value *= 2) {
+            values[i] = value;
+        }
+        return values;
+    }
+
+    private static long gcMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionTime());
+        }
+        return total;
+    }
+
+    private static double mean(double[] values) {
+        double sum = 0;
+        for (double value : values) {
+            sum += value;
+        }
+        return sum / values.length;
+    }
+
+    private static double tQuantile(int degreesOfFreedom) {
+        if (degreesOfFreedom < 1) {
+            return 0;
+        }
+        return degreesOfFreedom <= T_95.length ? T_95[degreesOfFreedom - 1] : 1.96;
+    }
+
+    private static String formatMillis(double millis) {
+        return millis < 1 ? String.format(Locale.ROOT, "%.1f µs", millis * 1000)
+                          : String.format(Locale.ROOT, "%.2f ms", millis);
+    }
+
+    private static String formatBytes(long bytes) {
+        if (bytes < 1024 * 1024) {
+            return String.format(Locale.ROOT, "%.0f KB", bytes / 1024.0);
+        }
+        return String.format(Locale.ROOT, "%.1f MB", bytes / (1024.0 * 1024.0));
+    }
+
+}
@@ -0,0 +1,24 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento JFR instantáneo de un hito dentro de una búsqueda
+ * (profundidad alcanzada, solución encontrada, capa DP terminada, nuevo mejor puntaje...)
+ */
+@Name("knightstour.SearchMilestone")
+@Label("Hito de búsqueda")
+@Category("Knight's Tour")
+@Description("Punto de avance dentro de una resolución")
+class SearchMilestoneEvent extends jdk.jfr.Event {
+
+    @Label("Motor")
+    String solver;
+
+    @Label("Hito")
+    String milestone;
+
+    @Label("Valor")
+    long value;
+}
@@ -0,0 +1,36 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento JFR de una resolución completa: su inicio y duración marcan el
+ * comienzo y el fin de la llamada (ver SolverMetrics.begin)
+ */
+@Name("knightstour.Solve")
+@Label("Resolución")
+@Category("Knight's Tour")
+@Description("Una llamada a un solucionador, desde el inicio hasta el resultado")
+class SolveEvent extends jdk.jfr.Event {
+
+    @Label("Motor")
+    String solver;
+
+    @Label("Tamaño del tablero")
+    int boardSize;
+
+    @Label("Fila inicial")
+    int startRow;
+
+    @Label("Columna inicial")
+    int startCol;
+
+    @Label("Éxito")
+    boolean success;
+
+    @Label("Nodos expandidos")
+    long nodesExpanded;
+
+    @Label("Casillas DP calculadas")
+    long cellsComputed;
+}
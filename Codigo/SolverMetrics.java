@@ -0,0 +1,254 @@
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Instrumentación de los solucionadores: métricas JMX y eventos JFR
+ *
+ * Cada motor tiene una instancia (forSolver) registrada como MXBean en el
+ * servidor de la plataforma, así que se puede observar con JConsole, JMC o
+ * jcmd sin agentes. Además cada llamada emite un SolveEvent y los hitos de
+ * la búsqueda emiten SearchMilestoneEvent cuando hay una grabación JFR activa.
+ *
+ * Interruptor: -Dknightstour.metrics=false deja ENABLED en false. Es una
+ * constante static final, así que el JIT elimina las ramas instrumentadas
+ * y no queda ningún costo en los bucles de búsqueda.
+ *
+ * Uso típico en un solucionador:
+ *
+ *   SolverMetrics.Probe probe = SolverMetrics.ENABLED ? METRICS.begin(n, fila, columna) : null;
+ *   ...
+ *   if (probe != null) probe.end(exito, nodos, casillas);
+ */
+public class SolverMetrics implements SolverMetricsMXBean {
+
+    /**
+     * false con -Dknightstour.metrics=false
+     */
+    public static final boolean ENABLED =
+        !"false".equalsIgnoreCase(System.getProperty("knightstour.metrics", "true"));
+
+    // Balde i = latencias menores a 2^i µs; el último acumula todo lo demás (> 35 min)
+    private static final int BUCKETS = 32;
+
+    private static final ConcurrentHashMap<String, SolverMetrics> REGISTRY = new ConcurrentHashMap<>();
+
+    private final String solverName;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder nodesExpanded = new LongAdder();
+    private final LongAdder cellsComputed = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+    private SolverMetrics(String solverName) {
+        this.solverName = solverName;
+    }
+
+    /**
+     * Devuelve (y registra por JMX la primera vez) las métricas de un motor
+     * Con la instrumentación apagada devuelve una instancia sin registrar
+     */
+    public static SolverMetrics forSolver(String solverName) {
+        if (!ENABLED) {
+            return new SolverMetrics(solverName);
+        }
+        return REGISTRY.computeIfAbsent(solverName, name -> {
+            SolverMetrics metrics = new SolverMetrics(name);
+            try {
+                ObjectName objectName = new ObjectName("knightstour:type=Solver,name=" + ObjectName.quote(name));
+                ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, objectName);
+            } catch (JMException | SecurityException e) {
+                // Sin JMX las métricas se siguen acumulando y los eventos JFR se emiten igual
+            }
+            return metrics;
+        });
+    }
+
+    /**
+     * Marca el inicio de una llamada
+     * @return sonda a cerrar con end() cuando la llamada termina
+     */
+    public Probe begin(int boardSize, int startRow, int startCol) {
+        return new Probe(this, boardSize, startRow, startCol);
+    }
+
+    /**
+     * Emite un hito de búsqueda (solo si hay una grabación JFR que lo pida)
+     */
+    public void milestone(String milestone, long value) {
+        SearchMilestoneEvent event = new SearchMilestoneEvent();
+        if (event.shouldCommit()) {
+            event.solver = solverName;
+            event.milestone = milestone;
+            event.value = value;
+            event.commit();
+        }
+    }
+
+    /**
+     * Una llamada en curso: mide la latencia y envuelve el SolveEvent de JFR
+     */
+    public static class Probe {
+        private final SolverMetrics metrics;
+        private final SolveEvent event;
+        private final long startNanos;
+
+        private Probe(SolverMetrics metrics, int boardSize, int startRow, int startCol) {
+            this.metrics = metrics;
+            this.event = new SolveEvent();
+            if (event.isEnabled()) {
+                event.solver = metrics.solverName;
+                event.boardSize = boardSize;
+                event.startRow = startRow;
+                event.startCol = startCol;
+                event.begin();
+            }
+            this.startNanos = System.nanoTime();
+        }
+
+        /**
+         * Cierra la llamada y acumula sus métricas
+         * @param success true si produjo un resultado
+         * @param nodes nodos expandidos (0 si no aplica)
+         * @param cells casillas DP calculadas (0 si no aplica)
+         */
+        public void end(boolean success, long nodes, long cells) {
+            long elapsed = System.nanoTime() - startNanos;
+            metrics.record(elapsed, success, nodes, cells);
+
+            if (event.shouldCommit()) {
+                event.success = success;
+                event.nodesExpanded = nodes;
+                event.cellsComputed = cells;
+                event.commit();
+            }
+        }
+    }
+
+    private void record(long elapsedNanos, boolean success, long nodes, long cells) {
+        calls.increment();
+        if (!success) {
+            failures.increment();
+        }
+        if (nodes > 0) {
+            nodesExpanded.add(nodes);
+        }
+        if (cells > 0) {
+            cellsComputed.add(cells);
+        }
+        totalNanos.add(elapsedNanos);
+        maxNanos.accumulate(elapsedNanos);
+        histogram.incrementAndGet(bucket(elapsedNanos / 1000));
+    }
+
+    // MXBean -----------------------------------------------------------
+
+    @Override
+    public String getSolverName() {
+        return solverName;
+    }
+
+    @Override
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    @Override
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    @Override
+    public long getNodesExpanded() {
+        return nodesExpanded.sum();
+    }
+
+    @Override
+    public long getCellsComputed() {
+        return cellsComputed.sum();
+    }
+
+    @Override
+    public double getMeanLatencyMillis() {
+        long count = calls.sum();
+        return count == 0 ? 0 : totalNanos.sum() / 1e6 / count;
+    }
+
+    @Override
+    public long getMaxLatencyMicros() {
+        return maxNanos.get() / 1000;
+    }
+
+    @Override
+    public long getP50LatencyMicros() {
+        return percentileMicros(0.50);
+    }
+
+    @Override
+    public long getP99LatencyMicros() {
+        return percentileMicros(0.99);
+    }
+
+    @Override
+    public long[] getLatencyHistogram() {
+        long[] copy = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = histogram.get(i);
+        }
+        return copy;
+    }
+
+    @Override
+    public void reset() {
+        calls.reset();
+        failures.reset();
+        nodesExpanded.reset();
+        cellsComputed.reset();
+        totalNanos.reset();
+        maxNanos.reset();
+        for (int i = 0; i < BUCKETS; i++) {
+            histogram.set(i, 0);
+        }
+    }
+
+    // Helper methods ---------------------------------------------------
+
+    /**
+     * Balde de una latencia: el menor i con micros < 2^i
+     */
+    private static int bucket(long micros) {
+        int index = 64 - Long.numberOfLeadingZeros(micros);
+        return Math.min(index, BUCKETS - 1);
+    }
+
+    /**
+     * Cota superior (2^i µs) del balde donde el acumulado alcanza la fracción pedida
+     */
+    private long percentileMicros(double fraction) {
+        long[] counts = getLatencyHistogram();
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long target = (long) Math.ceil(fraction * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return 1L << i;
+            }
+        }
+        return 1L << (BUCKETS - 1);
+    }
+
+}
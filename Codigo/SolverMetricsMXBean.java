@@ -0,0 +1,52 @@
+/**
+ * Métricas de un solucionador expuestas por JMX
+ * (objectName "knightstour:type=Solver,name=<motor>", visible en JConsole / JMC)
+ */
+public interface SolverMetricsMXBean {
+
+    String getSolverName();
+
+    /**
+     * @return llamadas terminadas
+     */
+    long getCalls();
+
+    /**
+     * @return llamadas sin resultado (sin recorrido, posición inválida o cancelada)
+     */
+    long getFailures();
+
+    /**
+     * @return nodos del árbol de búsqueda expandidos (Backtracking, Greedy, B&B)
+     */
+    long getNodesExpanded();
+
+    /**
+     * @return casillas de la tabla DP calculadas
+     */
+    long getCellsComputed();
+
+    double getMeanLatencyMillis();
+
+    long getMaxLatencyMicros();
+
+    /**
+     * @return cota superior del percentil 50 (resolución del histograma)
+     */
+    long getP50LatencyMicros();
+
+    /**
+     * @return cota superior del percentil 99 (resolución del histograma)
+     */
+    long getP99LatencyMicros();
+
+    /**
+     * @return cantidad de llamadas por balde; el balde i cuenta latencias menores a 2^i µs
+     */
+    long[] getLatencyHistogram();
+
+    /**
+     * Pone todos los contadores en cero
+     */
+    void reset();
+}
@@ -0,0 +1,411 @@
+import java.util.Arrays;
+
+/**
+ * Recorrido del caballo como valor inmutable y compacto
+ *
+ * getBoardCopy() entrega un int[n][n]: n+1 objetos y 4 bytes por casilla.
+ * Un Tour guarda solo la casilla inicial y el código de cada salto (índice
+ * en KNIGHT_MOVES, 3 bits), empaquetados de a 21 por long: ~0,4 bytes por
+ * casilla, así que un servicio puede retener millones de recorridos.
+ *
+ * - moveAt(paso) es O(1); cursor() recorre las casillas sin materializar nada
+ * - stepAt(fila, columna) construye un índice casilla -> paso la primera vez
+ *   que se usa (y solo entonces)
+ * - Las simetrías del tablero y reverse() reescriben códigos de salto, sin
+ *   pasar por un tablero
+ * - toBoard() / fromBoard() convierten desde y hacia la representación clásica
+ *
+ * Puede ser un camino parcial (getLength() < n²); isComplete() lo indica.
+ */
+public final class Tour {
+
+    // Constante para casilla no visitada (mismo valor que en los solucionadores)
+    private static final int UNVISITED = -1;
+
+    // Mismo orden que los solucionadores: el código de un salto es su índice
+    private static final int[][] KNIGHT_MOVES = {
+        {2, 1}, {1, 2}, {-1, 2}, {-2, 1},
+        {-2, -1}, {-1, -2}, {1, -2}, {2, -1}
+    };
+
+    private static final int BITS_PER_MOVE = 3;
+    private static final int MOVES_PER_WORD = 21;
+
+    // Código de cada (dr + 2, dc + 2); -1 si no es un salto de caballo
+    private static final int[] CODE_OF_DELTA = new int[25];
+
+    static {
+        Arrays.fill(CODE_OF_DELTA, -1);
+        for (int code = 0; code < KNIGHT_MOVES.length; code++) {
+            CODE_OF_DELTA[(KNIGHT_MOVES[code][0] + 2) * 5 + KNIGHT_MOVES[code][1] + 2] = code;
+        }
+    }
+
+    private final int boardSize;
+    private final int startCell;
+    private final int endCell;
+    private final int length;
+    private final long[] moves;
+
+    // Índice casilla -> paso (UNVISITED si no está); se construye en el primer stepAt
+    private volatile int[] stepOfCell;
+
+    private int hash;
+
+    private Tour(int boardSize, int startCell, int endCell, int length, long[] moves) {
+        this.boardSize = boardSize;
+        this.startCell = startCell;
+        this.endCell = endCell;
+        this.length = length;
+        this.moves = moves;
+    }
+
+    /**
+     * Crea un recorrido a partir de las casillas (fila*n + columna) de cada paso
+     * @param boardSize tamaño del tablero
+     * @param cells casilla de cada paso; se leen las primeras 'length'
+     * @param length cantidad de casillas del camino (al menos 1)
+     * @throws IllegalArgumentException si no es un camino de caballo sin repeticiones
+     */
+    public static Tour fromCells(int boardSize, int[] cells, int length) {
+        int total = boardSize * boardSize;
+        if (boardSize < 1 || length < 1 || length > total || length > cells.length) {
+            throw new IllegalArgumentException("Longitud de recorrido inválida: " + length);
+        }
+
+        boolean[] seen = new boolean[total];
+        long[] packed = new long[(length - 1 + MOVES_PER_WORD - 1) / MOVES_PER_WORD];
+        for (int step = 0; step < length; step++) {
+            int cell = cells[step];
+            if (cell < 0 || cell >= total || seen[cell]) {
+                throw new IllegalArgumentException("Casilla inválida o repetida en el paso " + step);
+            }
+            seen[cell] = true;
+
+            if (step > 0) {
+                int previous = cells[step - 1];
+                int code = codeOf(cell / boardSize - previous / boardSize, cell % boardSize - previous % boardSize);
+                if (code < 0) {
+                    throw new IllegalArgumentException("El paso " + step + " no es un salto de caballo");
+                }
+                int move = step - 1;
+                packed[move / MOVES_PER_WORD] |= (long) code << (BITS_PER_MOVE * (move % MOVES_PER_WORD));
+            }
+        }
+        return new Tour(boardSize, cells[0], cells[length - 1], length, packed);
+    }
+
+    /**
+     * Crea un recorrido desde un tablero con el número de paso de cada casilla
+     * (pasos 0..m-1 consecutivos; el resto UNVISITED)
+     * @throws IllegalArgumentException si el tablero no describe un camino de caballo
+     */
+    public static Tour fromBoard(int[][] board) {
+        int n = board.length;
+        int[] cellOfStep = new int[n * n];
+        int length = 0;
+
+        Arrays.fill(cellOfStep, UNVISITED);
+        for (int row = 0; row < n; row++) {
+            if (board[row].length != n) {
+                throw new IllegalArgumentException("El tablero debe ser cuadrado");
+            }
+            for (int col = 0; col < n; col++) {
+                int step = board[row][col];
+                if (step == UNVISITED) {
+                    continue;
+                }
+                if (step < 0 || step >= n * n || cellOfStep[step] != UNVISITED) {
+                    throw new IllegalArgumentException("Paso inválido o repetido: " + step);
+                }
+                cellOfStep[step] = row * n + col;
+                length++;
+            }
+        }
+
+        for (int step = 0; step < length; step++) {
+            if (cellOfStep[step] == UNVISITED) {
+                throw new IllegalArgumentException("Falta el paso " + step);
+            }
+        }
+        return fromCells(n, cellOfStep, length);
+    }
+
+    /**
+     * Materializa el tablero clásico (número de paso por casilla, UNVISITED si no está)
+     */
+    public int[][] toBoard() {
+        int[][] board = new int[boardSize][boardSize];
+        for (int[] row : board) {
+            Arrays.fill(row, UNVISITED);
+        }
+        Cursor cursor = cursor();
+        while (cursor.next()) {
+            board[cursor.getRow()][cursor.getCol()] = cursor.getStep();
+        }
+        return board;
+    }
+
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    /**
+     * @return cantidad de casillas del camino (n² si es un recorrido completo)
+     */
+    public int getLength() {
+        return length;
+    }
+
+    public boolean isComplete() {
+        return length == boardSize * boardSize;
+    }
+
+    /**
+     * @return true si es completo y la última casilla está a un salto de la primera
+     */
+    public boolean isClosed() {
+        return isComplete() && length > 1 &&
+               codeOf(startCell / boardSize - endCell / boardSize, startCell % boardSize - endCell % boardSize) >= 0;
+    }
+
+    public int getStartRow() {
+        return startCell / boardSize;
+    }
+
+    public int getStartCol() {
+        return startCell % boardSize;
+    }
+
+    public int getEndRow() {
+        return endCell / boardSize;
+    }
+
+    public int getEndCol() {
+        return endCell % boardSize;
+    }
+
+    /**
+     * Código (índice en KNIGHT_MOVES) del salto del paso 'step' al siguiente, en O(1)
+     * @param step 0 <= step < getLength() - 1
+     */
+    public int moveAt(int step) {
+        if (step < 0 || step >= length - 1) {
+            throw new IndexOutOfBoundsException("Salto fuera de rango: " + step);
+        }
+        return code(moves, step);
+    }
+
+    /**
+     * Paso en el que se visita una casilla
+     * La primera llamada construye el índice (O(n²)); las siguientes son O(1)
+     * @return número de paso, o -1 si la casilla no está en el camino
+     */
+    public int stepAt(int row, int col) {
+        if (row < 0 || row >= boardSize || col < 0 || col >= boardSize) {
+            return UNVISITED;
+        }
+        int[] index = stepOfCell;
+        if (index == null) {
+            index = new int[boardSize * boardSize];
+            Arrays.fill(index, UNVISITED);
+            Cursor cursor = cursor();
+            while (cursor.next()) {
+                index[cursor.getRow() * boardSize + cursor.getCol()] = cursor.getStep();
+            }
+            stepOfCell = index;
+        }
+        return index[row * boardSize + col];
+    }
+
+    /**
+     * @return cursor que avanza una casilla por llamada a next(), en O(1)
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Recorrido sobre las casillas, paso a paso
+     *
+     *   Tour.Cursor cursor = tour.cursor();
+     *   while (cursor.next()) { ... cursor.getRow(), cursor.getCol() ... }
+     */
+    public final class Cursor {
+        private int step = -1;
+        private int row;
+        private int col;
+
+        private Cursor() {
+        }
+
+        /**
+         * @return true si avanzó a una casilla más del camino
+         */
+        public boolean next() {
+            if (step + 1 >= length) {
+                return false;
+            }
+            if (step < 0) {
+                row = startCell / boardSize;
+                col = startCell % boardSize;
+            } else {
+                int[] move = KNIGHT_MOVES[code(moves, step)];
+                row += move[0];
+                col += move[1];
+            }
+            step++;
+            return true;
+        }
+
+        public int getStep() {
+            return step;
+        }
+
+        public int getRow() {
+            return row;
+        }
+
+        public int getCol() {
+            return col;
+        }
+    }
+
+    /**
+     * Simetrías del tablero cuadrado (grupo diedral de 8 elementos)
+     */
+    public enum Symmetry {
+        IDENTITY,
+        ROTATE_90,      // horario
+        ROTATE_180,
+        ROTATE_270,
+        FLIP_HORIZONTAL, // espejo izquierda-derecha
+        FLIP_VERTICAL,   // espejo arriba-abajo
+        TRANSPOSE,       // diagonal principal
+        ANTI_TRANSPOSE;  // diagonal secundaria
+
+        // Código de salto resultante para cada código original
+        private final int[] codeMap = new int[KNIGHT_MOVES.length];
+
+        static {
+            for (Symmetry symmetry : values()) {
+                for (int code = 0; code < KNIGHT_MOVES.length; code++) {
+                    int[] delta = symmetry.mapDelta(KNIGHT_MOVES[code][0], KNIGHT_MOVES[code][1]);
+                    symmetry.codeMap[code] = codeOf(delta[0], delta[1]);
+                }
+            }
+        }
+
+        /**
+         * Parte lineal de la simetría aplicada a un desplazamiento
+         */
+        private int[] mapDelta(int dr, int dc) {
+            switch (this) {
+                case ROTATE_90:       return new int[] {dc, -dr};
+                case ROTATE_180:      return new int[] {-dr, -dc};
+                case ROTATE_270:      return new int[] {-dc, dr};
+                case FLIP_HORIZONTAL: return new int[] {dr, -dc};
+                case FLIP_VERTICAL:   return new int[] {-dr, dc};
+                case TRANSPOSE:       return new int[] {dc, dr};
+                case ANTI_TRANSPOSE:  return new int[] {-dc, -dr};
+                default:              return new int[] {dr, dc};
+            }
+        }
+
+        /**
+         * Imagen de una casilla en un tablero n x n
+         */
+        private int mapCell(int cell, int n) {
+            int row = cell / n;
+            int col = cell % n;
+            int last = n - 1;
+            switch (this) {
+                case ROTATE_90:       return col * n + (last - row);
+                case ROTATE_180:      return (last - row) * n + (last - col);
+                case ROTATE_270:      return (last - col) * n + row;
+                case FLIP_HORIZONTAL: return row * n + (last - col);
+                case FLIP_VERTICAL:   return (last - row) * n + col;
+                case TRANSPOSE:       return col * n + row;
+                case ANTI_TRANSPOSE:  return (last - col) * n + (last - row);
+                default:              return cell;
+            }
+        }
+    }
+
+    /**
+     * Mismo recorrido visto con una simetría del tablero: O(longitud), sin tablero
+     */
+    public Tour transform(Symmetry symmetry) {
+        if (symmetry == Symmetry.IDENTITY) {
+            return this;
+        }
+        long[] mapped = new long[moves.length];
+        for (int move = 0; move < length - 1; move++) {
+            long code = symmetry.codeMap[code(moves, move)];
+            mapped[move / MOVES_PER_WORD] |= code << (BITS_PER_MOVE * (move % MOVES_PER_WORD));
+        }
+        return new Tour(boardSize, symmetry.mapCell(startCell, boardSize),
+                        symmetry.mapCell(endCell, boardSize), length, mapped);
+    }
+
+    /**
+     * El mismo camino recorrido desde la última casilla hasta la primera
+     * (el salto opuesto del código c es (c + 4) mod 8)
+     */
+    public Tour reverse() {
+        long[] reversed = new long[moves.length];
+        int jumps = length - 1;
+        for (int move = 0; move < jumps; move++) {
+            long code = (code(moves, jumps - 1 - move) + 4) & 7;
+            reversed[move / MOVES_PER_WORD] |= code << (BITS_PER_MOVE * (move % MOVES_PER_WORD));
+        }
+        return new Tour(boardSize, endCell, startCell, length, reversed);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof Tour)) {
+            return false;
+        }
+        Tour tour = (Tour) other;
+        return boardSize == tour.boardSize && startCell == tour.startCell &&
+               length == tour.length && Arrays.equals(moves, tour.moves);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            h = 31 * (31 * (31 * boardSize + startCell) + length) + Arrays.hashCode(moves);
+            hash = h;
+        }
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Recorrido %dx%d de %d casillas: (%d,%d) -> (%d,%d)%s",
+                             boardSize, boardSize, length, getStartRow(), getStartCol(),
+                             getEndRow(), getEndCol(), isClosed() ? " (cerrado)" : "");
+    }
+
+    // Helper methods ---------------------------------------------------
+
+    private static int code(long[] packed, int move) {
+        return (int) (packed[move / MOVES_PER_WORD] >>> (BITS_PER_MOVE * (move % MOVES_PER_WORD))) & 7;
+    }
+
+    /**
+     * Código del salto (dr, dc), o -1 si no es un salto de caballo
+     */
+    static int codeOf(int dr, int dc) {
+        if (dr < -2 || dr > 2 || dc < -2 || dc > 2) {
+            return -1;
+        }
+        return CODE_OF_DELTA[(dr + 2) * 5 + dc + 2];
+    }
+
+}
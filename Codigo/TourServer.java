@@ -0,0 +1,421 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Servidor HTTP liviano para recorridos y puntajes DP (solo JDK, sin dependencias)
+ *
+ * Endpoints (GET):
+ * - /tour?n=8&fila=0&columna=0[&algoritmo=greedy|backtracking|portafolio][&formato=json|binario]
+ * - /dp?n=64&fila=0&columna=0&k=16[&semilla=0]
+ *
+ * - Cada pedido se atiende en un hilo virtual si la JVM los tiene
+ *   (Executors.newVirtualThreadPerTaskExecutor, JDK 21+); si no, en un pool fijo
+ * - Límite de pedidos en curso: por encima responde 503 de inmediato
+ *   (descarte de carga) en lugar de encolar
+ * - Plazo por pedido: si el cálculo no termina a tiempo se cancela el motor
+ *   y se responde 504; un cálculo que todavía no arrancó ya no se ejecuta
+ * - /dp calcula solo la región alcanzable (KnightsTourDPWindow) y reserva su
+ *   memoria de un presupuesto común: sin lugar responde 503
+ *
+ * Formato binario del recorrido (application/octet-stream, big-endian):
+ *   int n, int casilla inicial (fila * n + columna), luego un byte por salto
+ *   con el código del movimiento (0..7, ver Tour.moveAt)
+ *
+ * Uso: java TourServer [puerto] [pedidosEnCurso] [plazoMs]
+ */
+public class TourServer {
+
+    private static final int DEFAULT_PORT = 8080;
+    private static final int DEFAULT_MAX_IN_FLIGHT = 64;
+    private static final long DEFAULT_DEADLINE_MILLIS = 2000;
+
+    // Límites de tamaño: evitan que un pedido reserve memoria sin control
+    // En /dp un pedido usa n² puntajes + la ventana (3 planos de (min(n, 4k + 1) + 4)²):
+    // en los límites, 4·(1024² + 3·1028²) bytes ≈ 16 MB
+    private static final int MAX_TOUR_SIZE = 256;
+    private static final int MAX_DP_SIZE = 1024;
+    private static final int MAX_DP_MOVES = 256;
+
+    // Memoria total (MB) para los pedidos /dp en curso: ~16 pedidos en los límites
+    private static final int DP_MEMORY_BUDGET_MB = 256;
+
+    private final HttpServer server;
+    private final ExecutorService requestExecutor;
+    private final ExecutorService computeExecutor;
+    private final Semaphore inFlight;
+    private final Semaphore dpMemory = new Semaphore(DP_MEMORY_BUDGET_MB);
+    private final long deadlineMillis;
+    private final boolean virtualThreads;
+
+    private final KnightsTourPortfolio portfolio = new KnightsTourPortfolio();
+
+    /**
+     * @param port puerto TCP (0 = cualquiera libre)
+     * @param maxInFlight máximo de pedidos calculándose a la vez
+     * @param deadlineMillis plazo por pedido
+     * @throws IOException si no se puede abrir el puerto
+     * @throws IllegalArgumentException si maxInFlight o deadlineMillis no son positivos
+     */
+    public TourServer(int port, int maxInFlight, long deadlineMillis) throws IOException {
+        if (maxInFlight <= 0 || deadlineMillis <= 0) {
+            throw new IllegalArgumentException("El límite de pedidos y el plazo deben ser positivos");
+        }
+
+        this.deadlineMillis = deadlineMillis;
+        this.inFlight = new Semaphore(maxInFlight);
+
+        ExecutorService virtual = newVirtualThreadExecutor();
+        this.virtualThreads = virtual != null;
+        this.requestExecutor = virtual != null ? virtual : Executors.newFixedThreadPool(2 * maxInFlight);
+        // Nunca hay más de maxInFlight cálculos vivos (el semáforo se libera al terminar cada uno)
+        this.computeExecutor = virtual != null ? newVirtualThreadExecutor() : Executors.newFixedThreadPool(maxInFlight);
+
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.setExecutor(requestExecutor);
+        server.createContext("/tour", exchange -> handle(exchange, this::tour));
+        server.createContext("/dp", exchange -> handle(exchange, this::dp));
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int maxInFlight = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_MAX_IN_FLIGHT;
+        long deadline = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_DEADLINE_MILLIS;
+
+        TourServer tourServer = new TourServer(port, maxInFlight, deadline);
+        tourServer.start();
+
+        System.out.println("Servidor escuchando en http://localhost:" + tourServer.getPort());
+        System.out.println("Hilos virtuales: " + (tourServer.virtualThreads ? "sí" : "no (pool fijo)"));
+        System.out.println("Pedidos en curso: " + maxInFlight + " | Plazo: " + deadline + " ms");
+
+        // Los solucionadores informan por consola en cada llamada; con miles de
+        // pedidos por segundo eso serializa los hilos en System.out
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Detiene el servidor esperando hasta delaySeconds a los pedidos en curso
+     */
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        requestExecutor.shutdown();
+        computeExecutor.shutdown();
+        portfolio.shutdown();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Respuesta lista para enviar
+     */
+    private static class Response {
+        final int status;
+        final String contentType;
+        final byte[] body;
+
+        Response(int status, String contentType, byte[] body) {
+            this.status = status;
+            this.contentType = contentType;
+            this.body = body;
+        }
+
+        static Response json(int status, String json) {
+            return new Response(status, "application/json", json.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Response error(int status, String message) {
+            return json(status, "{\"error\":\"" + message.replace("\"", "'") + "\"}");
+        }
+    }
+
+    /**
+     * Cálculo de un endpoint: recibe los parámetros y deja en cancel[0] lo que
+     * haya que llamar para abortarlo si vence el plazo
+     */
+    private interface Endpoint {
+        Callable<Response> prepare(Map<String, String> params, Runnable[] cancel);
+    }
+
+    /**
+     * Flujo común: método, descarte de carga, plazo y escritura de la respuesta
+     */
+    private void handle(HttpExchange exchange, Endpoint endpoint) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                send(exchange, Response.error(405, "Solo se admite GET"));
+                return;
+            }
+
+            // Descarte de carga: sin lugar libre se responde ya, sin encolar
+            if (!inFlight.tryAcquire()) {
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                send(exchange, Response.error(503, "Servidor ocupado"));
+                return;
+            }
+
+            Future<Response> future;
+            Runnable[] cancel = new Runnable[1];
+            AtomicBoolean expired = new AtomicBoolean();
+            try {
+                Callable<Response> work = endpoint.prepare(parseQuery(exchange.getRequestURI().getRawQuery()), cancel);
+                future = computeExecutor.submit(() -> {
+                    try {
+                        // El plazo venció antes de arrancar: nadie espera la respuesta
+                        return expired.get() ? null : work.call();
+                    } finally {
+                        // El lugar se libera cuando el cálculo termina de verdad,
+                        // aunque el pedido ya haya respondido 504
+                        inFlight.release();
+                    }
+                });
+            } catch (IllegalArgumentException e) {
+                inFlight.release();
+                send(exchange, Response.error(400, e.getMessage()));
+                return;
+            } catch (RejectedExecutionException e) {
+                inFlight.release();
+                send(exchange, Response.error(503, "Servidor detenido"));
+                return;
+            }
+
+            Response response;
+            try {
+                response = future.get(deadlineMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // Cancelación cooperativa; future.cancel() podría saltear el
+                // finally de una tarea que no arrancó y perder el lugar
+                expired.set(true);
+                if (cancel[0] != null) {
+                    cancel[0].run();
+                }
+                response = Response.error(504, "Plazo de " + deadlineMillis + " ms vencido");
+            } catch (ExecutionException e) {
+                response = Response.error(500, "Error interno: " + e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                response = Response.error(503, "Pedido interrumpido");
+            }
+            send(exchange, response);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * /tour: recorrido completo con el motor pedido
+     */
+    private Callable<Response> tour(Map<String, String> params, Runnable[] cancel) {
+        int n = intParam(params, "n", 3, MAX_TOUR_SIZE);
+        int row = intParam(params, "fila", 0, n - 1);
+        int col = intParam(params, "columna", 0, n - 1);
+        String algorithm = params.getOrDefault("algoritmo", "greedy");
+        boolean binary = "binario".equals(params.getOrDefault("formato", "json"));
+
+        if ("portafolio".equals(algorithm)) {
+            return () -> {
+                KnightsTourPortfolio.Result result = portfolio.solveAuto(n, row, col, deadlineMillis);
+                return result == null
+                    ? Response.error(422, "No se encontró un recorrido")
+                    : tourResponse(result.getEngineName(), result.getTour(), result.getElapsedNanos(), binary);
+            };
+        }
+
+        KnightsTourSolver solver;
+        if ("greedy".equals(algorithm) || "warnsdorff".equals(algorithm)) {
+            solver = new KnightsTourGreedy(n);
+        } else if ("backtracking".equals(algorithm)) {
+            solver = new KnightsTour(n);
+        } else {
+            throw new IllegalArgumentException("Algoritmo desconocido: " + algorithm);
+        }
+        // Señal que solve() no limpia: corta también una tarea que aún no arrancó
+        AtomicBoolean stop = new AtomicBoolean();
+        solver.setCancelSignal(stop);
+        cancel[0] = () -> stop.set(true);
+
+        return () -> {
+            long start = System.nanoTime();
+            boolean solved;
+            try {
+                solved = solver.solve(row, col);
+            } catch (StackOverflowError e) {
+                return Response.error(500, "Recorrido demasiado profundo para " + solver.getName());
+            }
+            long elapsed = System.nanoTime() - start;
+            return solved
+                ? tourResponse(solver.getName(), solver.getTour(), elapsed, binary)
+                : Response.error(422, "No se encontró un recorrido");
+        };
+    }
+
+    /**
+     * /dp: máximo puntaje en k movimientos sobre puntajes 1..10 de Random(semilla)
+     * Solo calcula la región alcanzable desde el inicio (KnightsTourDPWindow):
+     * O(min(n, k)²·k) en lugar de la tabla completa de n²·k
+     */
+    private Callable<Response> dp(Map<String, String> params, Runnable[] cancel) {
+        int n = intParam(params, "n", 1, MAX_DP_SIZE);
+        int row = intParam(params, "fila", 0, n - 1);
+        int col = intParam(params, "columna", 0, n - 1);
+        int k = intParam(params, "k", 0, MAX_DP_MOVES);
+        long seed = params.containsKey("semilla") ? longParam(params, "semilla") : 0;
+
+        AtomicBoolean cancelled = new AtomicBoolean();
+        AtomicReference<KnightsTourDPWindow> solver = new AtomicReference<>();
+        cancel[0] = () -> {
+            cancelled.set(true);
+            KnightsTourDPWindow running = solver.get();
+            if (running != null) {
+                running.cancel();
+            }
+        };
+
+        return () -> {
+            long bytes = (long) n * n * Integer.BYTES + KnightsTourDPWindow.windowBytes(n, k);
+            int megabytes = (int) ((bytes + (1 << 20) - 1) >> 20);
+            if (!dpMemory.tryAcquire(megabytes)) {
+                return Response.error(503, "Memoria para /dp agotada");
+            }
+            try {
+                long start = System.nanoTime();
+                KnightsTourDPWindow window = new KnightsTourDPWindow(BatchRunner.seededScores(n, seed), k);
+                solver.set(window);
+                // cancel() pudo llegar antes de que existiera el solver
+                int score = cancelled.get() ? -1 : window.maximizeScore(row, col);
+                long elapsed = System.nanoTime() - start;
+                if (cancelled.get()) {
+                    return Response.error(504, "Plazo de " + deadlineMillis + " ms vencido");
+                }
+
+                return Response.json(200, "{\"n\":" + n + ",\"k\":" + k + ",\"semilla\":" + seed +
+                    ",\"puntaje\":" + score + ",\"micros\":" + elapsed / 1000 + "}");
+            } finally {
+                dpMemory.release(megabytes);
+            }
+        };
+    }
+
+    /**
+     * Convierte un recorrido en la respuesta JSON o binaria (sin materializar el tablero)
+     */
+    private static Response tourResponse(String engine, Tour tour, long elapsedNanos, boolean binary)
+            throws IOException {
+        int n = tour.getBoardSize();
+        int cells = tour.getLength();
+
+        if (binary) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(8 + cells);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(n);
+            out.writeInt(tour.getStartRow() * n + tour.getStartCol());
+            for (int step = 0; step < cells - 1; step++) {
+                out.writeByte(tour.moveAt(step));
+            }
+            out.flush();
+            return new Response(200, "application/octet-stream", bytes.toByteArray());
+        }
+
+        StringBuilder json = new StringBuilder(32 + cells * 6);
+        json.append("{\"n\":").append(n)
+            .append(",\"algoritmo\":\"").append(engine)
+            .append("\",\"micros\":").append(elapsedNanos / 1000)
+            .append(",\"recorrido\":[");
+        Tour.Cursor cursor = tour.cursor();
+        while (cursor.next()) {
+            if (cursor.getStep() > 0) {
+                json.append(',');
+            }
+            json.append(cursor.getRow() * n + cursor.getCol());
+        }
+        json.append("]}");
+        return Response.json(200, json.toString());
+    }
+
+    // Helper methods ---------------------------------------------------
+
+    private static void send(HttpExchange exchange, Response response) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", response.contentType);
+        exchange.sendResponseHeaders(response.status, response.body.length);
+        try (OutputStream body = exchange.getResponseBody()) {
+            body.write(response.body);
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            params.put(URLDecoder.decode(key, StandardCharsets.UTF_8).toLowerCase(),
+                       URLDecoder.decode(value, StandardCharsets.UTF_8).toLowerCase());
+        }
+        return params;
+    }
+
+    private static int intParam(Map<String, String> params, String name, int min, int max) {
+        long value = longParam(params, name);
+        if (value < min || value > max) {
+            throw new IllegalArgumentException("'" + name + "' debe estar entre " + min + " y " + max);
+        }
+        return (int) value;
+    }
+
+    private static long longParam(Map<String, String> params, String name) {
+        String value = params.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Falta el parámetro '" + name + "'");
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("'" + name + "' no es un número: " + value);
+        }
+    }
+
+    /**
+     * Executor de un hilo virtual por tarea, o null si la JVM no los tiene
+     * (se busca por reflexión para seguir compilando con JDK 17)
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,57 @@
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Kernel SIMD (jdk.incubator.vector) para una capa DP en layout padded
+ *
+ * Cada iteración procesa SPECIES.length() casillas de una fila:
+ * 8 cargas desplazadas de la capa anterior, 8 max y una suma con scores.
+ * El resto de la fila que no completa un vector se resuelve en escalar.
+ *
+ * Compilación (desde Codigo/, después de compilar el resto):
+ *   javac --add-modules jdk.incubator.vector -cp . -d . vector/VectorDPLayerKernel.java
+ * Ejecución:
+ *   java --add-modules jdk.incubator.vector ...
+ */
+public class VectorDPLayerKernel implements DPLayerKernel {
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    @Override
+    public void computeLayer(int[] scores, int[] previous, int[] current, int boardSize) {
+        int stride = DPLayerKernel.stride(boardSize);
+        int[] offsets = DPLayerKernel.knightOffsets(boardSize);
+        int vectorBound = SPECIES.loopBound(boardSize);
+        IntVector zero = IntVector.zero(SPECIES);
+
+        for (int row = 0; row < boardSize; row++) {
+            int rowStart = (row + PADDING) * stride + PADDING;
+
+            int col = 0;
+            for (; col < vectorBound; col += SPECIES.length()) {
+                int cell = rowStart + col;
+                // 0 representa el caso "no moverse"
+                IntVector best = zero;
+                for (int offset : offsets) {
+                    best = best.max(IntVector.fromArray(SPECIES, previous, cell + offset));
+                }
+                IntVector.fromArray(SPECIES, scores, cell).add(best).intoArray(current, cell);
+            }
+
+            // Cola escalar de la fila
+            for (; col < boardSize; col++) {
+                int cell = rowStart + col;
+                int best = 0;
+                for (int offset : offsets) {
+                    best = Math.max(best, previous[cell + offset]);
+                }
+                current[cell] = scores[cell] + best;
+            }
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "SIMD (" + SPECIES.length() + " x int)";
+    }
+}